@@ -215,6 +215,7 @@ public final class Config
 	
 	/** Path finding */
 	public static String PATHFIND_BUFFERS;
+	public static int PATH_CACHE_SIZE;
 	public static int MOVE_WEIGHT;
 	public static int MOVE_WEIGHT_DIAG;
 	public static int OBSTACLE_WEIGHT;
@@ -461,6 +462,7 @@ public final class Config
 	public static int REQUEST_ID;
 	public static boolean ACCEPT_ALTERNATE_ID;
 	public static boolean USE_BLOWFISH_CIPHER;
+	public static int STARTUP_THREADS;
 	
 	/** Access to database */
 	public static String DATABASE_URL;
@@ -493,6 +495,8 @@ public final class Config
 	public static int EQUIPABLE_ITEM_AUTO_DESTROY_TIME;
 	public static Map<Integer, Integer> SPECIAL_ITEM_DESTROY_TIME;
 	public static int PLAYER_DROPPED_ITEM_MULTIPLIER;
+	public static int ITEM_UPDATE_INTERVAL;
+	public static int MEMO_UPDATE_INTERVAL;
 	
 	/** Rate control */
 	public static double RATE_XP;
@@ -558,6 +562,11 @@ public final class Config
 	public static int DEADLOCK_CHECK_INTERVAL;
 	public static boolean RESTART_ON_DEADLOCK;
 	
+	/** HTM cache */
+	public static boolean HTM_CACHE_PRELOAD;
+	public static boolean HTM_CACHE_COMPACT;
+	public static boolean HTM_CACHE_WATCH;
+	
 	/** Logs */
 	public static boolean LOG_CHAT;
 	public static boolean LOG_ITEMS;
@@ -588,6 +597,9 @@ public final class Config
 	public static int THREADS_PER_SCHEDULED_THREAD_POOL;
 	public static int INSTANT_THREAD_POOL_COUNT;
 	public static int THREADS_PER_INSTANT_THREAD_POOL;
+	public static boolean USE_FORK_JOIN_THREAD_POOL;
+	public static int WHEEL_TIMER_TICK_DURATION;
+	public static boolean USE_BLOCKING_CLIENT_THREADS;
 	
 	/** Misc */
 	public static boolean L2WALKER_PROTECTION;
@@ -820,6 +832,7 @@ public final class Config
 		MAX_OBSTACLE_HEIGHT = geoengine.getProperty("MaxObstacleHeight", 32);
 		
 		PATHFIND_BUFFERS = geoengine.getProperty("PathFindBuffers", "500x10;1000x10;3000x5;5000x3;10000x3");
+		PATH_CACHE_SIZE = geoengine.getProperty("PathCacheSize", 2000);
 		MOVE_WEIGHT = geoengine.getProperty("MoveWeight", 10);
 		MOVE_WEIGHT_DIAG = geoengine.getProperty("MoveWeightDiag", 14);
 		OBSTACLE_WEIGHT = geoengine.getProperty("ObstacleWeight", 30);
@@ -1112,6 +1125,7 @@ public final class Config
 		REQUEST_ID = server.getProperty("RequestServerID", 0);
 		ACCEPT_ALTERNATE_ID = server.getProperty("AcceptAlternateID", true);
 		USE_BLOWFISH_CIPHER = server.getProperty("UseBlowfishCipher", true);
+		STARTUP_THREADS = server.getProperty("StartupThreads", 0);
 		
 		DATABASE_URL = server.getProperty("URL", "jdbc:mariadb://localhost/acis");
 		DATABASE_LOGIN = server.getProperty("Login", "root");
@@ -1148,6 +1162,8 @@ public final class Config
 			}
 		}
 		PLAYER_DROPPED_ITEM_MULTIPLIER = server.getProperty("PlayerDroppedItemMultiplier", 1);
+		ITEM_UPDATE_INTERVAL = server.getProperty("ItemUpdateInterval", 0);
+		MEMO_UPDATE_INTERVAL = server.getProperty("MemoUpdateInterval", 5000);
 		
 		RATE_XP = server.getProperty("RateXp", 1.);
 		RATE_SP = server.getProperty("RateSp", 1.);
@@ -1204,6 +1220,10 @@ public final class Config
 		DEADLOCK_CHECK_INTERVAL = server.getProperty("DeadLockCheckInterval", 20);
 		RESTART_ON_DEADLOCK = server.getProperty("RestartOnDeadlock", false);
 		
+		HTM_CACHE_PRELOAD = server.getProperty("HtmCachePreload", false);
+		HTM_CACHE_COMPACT = server.getProperty("HtmCacheCompact", false);
+		HTM_CACHE_WATCH = server.getProperty("HtmCacheWatch", false);
+		
 		LOG_CHAT = server.getProperty("LogChat", false);
 		LOG_ITEMS = server.getProperty("LogItems", false);
 		GMAUDIT = server.getProperty("GMAudit", false);
@@ -1230,6 +1250,9 @@ public final class Config
 		THREADS_PER_SCHEDULED_THREAD_POOL = server.getProperty("ThreadsPerScheduledThreadPool", 4);
 		INSTANT_THREAD_POOL_COUNT = server.getProperty("InstantThreadPoolCount", -1);
 		THREADS_PER_INSTANT_THREAD_POOL = server.getProperty("ThreadsPerInstantThreadPool", 2);
+		USE_FORK_JOIN_THREAD_POOL = server.getProperty("UseForkJoinThreadPool", false);
+		WHEEL_TIMER_TICK_DURATION = server.getProperty("WheelTimerTickDuration", 10);
+		USE_BLOCKING_CLIENT_THREADS = server.getProperty("UseBlockingClientThreads", false);
 		
 		L2WALKER_PROTECTION = server.getProperty("L2WalkerProtection", false);
 		ZONE_TOWN = server.getProperty("ZoneTown", 0);
@@ -27,9 +27,9 @@ public abstract class MemoSet extends ConcurrentHashMap<String, String>
 	
 	public final void set(final String key, final String value)
 	{
-		onSet(key, value);
-		
 		put(key, value);
+		
+		onSet(key, value);
 	}
 	
 	public void set(final String key, final boolean value)
@@ -59,9 +59,9 @@ public abstract class MemoSet extends ConcurrentHashMap<String, String>
 	
 	public final void unset(String key)
 	{
-		onUnset(key);
-		
 		remove(key);
+		
+		onUnset(key);
 	}
 	
 	public boolean getBool(final String key)
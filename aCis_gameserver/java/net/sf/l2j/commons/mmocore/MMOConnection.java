@@ -74,6 +74,8 @@ public class MMOConnection<T extends MMOClient<?>>
 		if (_pendingClose)
 			return;
 		
+		sp.onQueued();
+		
 		synchronized (getSendQueue())
 		{
 			_sendQueue.addLast(sp);
@@ -201,6 +203,10 @@ public class MMOConnection<T extends MMOClient<?>>
 			{
 				_pendingClose = true;
 				_sendQueue.clear();
+				
+				if (sp != null)
+					sp.onQueued();
+				
 				_sendQueue.addLast(sp);
 			}
 		}
@@ -563,7 +563,7 @@ public final class SelectorThread<T extends MMOClient<?>> extends Thread
 		// set the client.
 		sp._client = client;
 		// write content to buffer
-		sp.write();
+		sp.writeContent();
 		// delete the write buffer
 		sp._buf = null;
 		
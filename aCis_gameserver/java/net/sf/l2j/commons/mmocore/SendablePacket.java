@@ -4,8 +4,85 @@ import net.sf.l2j.gameserver.model.location.Location;
 
 public abstract class SendablePacket<T extends MMOClient<?>> extends AbstractPacket<T>
 {
+	private volatile boolean _isBroadcasting;
+	private volatile boolean _isBroadcast;
+	private volatile byte[] _broadcastData;
+	
 	protected abstract void write();
 	
+	/**
+	 * @return true if the content of this packet depends on the client it is sent to. Such packets are written for each client, even if broadcasted.
+	 */
+	protected boolean isViewerDependent()
+	{
+		return false;
+	}
+	
+	/**
+	 * Flag this packet as broadcasted, before sending it to multiple clients. Its plaintext content will be written only once, and then copied for any other client (which encrypts it using its own key).<br>
+	 * <br>
+	 * Any previously written content is dropped, so a packet modified between two broadcasts is written again. {@link #endBroadcast()} must be called once the packet is sent to all clients.
+	 */
+	public final void prepareBroadcast()
+	{
+		if (isViewerDependent())
+			return;
+		
+		_broadcastData = null;
+		_isBroadcast = true;
+		_isBroadcasting = true;
+	}
+	
+	/**
+	 * End the broadcast started by {@link #prepareBroadcast()}. Already queued sends keep using the written content, but any later send is considered direct.
+	 */
+	public final void endBroadcast()
+	{
+		_isBroadcasting = false;
+	}
+	
+	/**
+	 * Called when this packet is queued on a connection. A packet sent directly (outside of a broadcast) may have been modified since its last broadcast, so its written content is dropped and it is written again.
+	 */
+	final void onQueued()
+	{
+		if (_isBroadcast && !_isBroadcasting)
+		{
+			_isBroadcast = false;
+			_broadcastData = null;
+		}
+	}
+	
+	/**
+	 * Write the content of this packet into the buffer. A broadcasted packet reuses its previously written content, if any.
+	 */
+	final void writeContent()
+	{
+		if (!_isBroadcast)
+		{
+			write();
+			return;
+		}
+		
+		final byte[] data = _broadcastData;
+		if (data != null)
+		{
+			_buf.put(data);
+			return;
+		}
+		
+		final int start = _buf.position();
+		
+		write();
+		
+		// Copy the plaintext content, restoring the buffer position at the end of it.
+		final byte[] newData = new byte[_buf.position() - start];
+		_buf.position(start);
+		_buf.get(newData);
+		
+		_broadcastData = newData;
+	}
+	
 	protected final void writeC(final int data)
 	{
 		_buf.put((byte) data);
@@ -0,0 +1,493 @@
+package net.sf.l2j.commons.pool;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import net.sf.l2j.commons.logging.CLogger;
+
+/**
+ * A hashed timing wheel. Tasks are hashed into a fixed amount of buckets depending of their deadline, and a single worker thread processes one bucket per tick.
+ * <p>
+ * Compared to a ScheduledThreadPoolExecutor (which relies on a binary heap), both insertion and cancellation are O(1), no matter the amount of pending tasks. The counterpart is a fixed precision : a task fires on the first tick following its deadline.
+ * </p>
+ * <p>
+ * The worker thread never runs tasks itself ; expired tasks are handed over to the given {@link Executor}. A periodic task is only rearmed once its previous execution is over, so it never overlaps itself. The {@link Executor} must throw a {@link RejectedExecutionException} when it refuses a task, which is then retried on next tick.
+ * </p>
+ */
+public final class HashedWheelTimer
+{
+	private static final CLogger LOGGER = new CLogger(HashedWheelTimer.class.getName());
+	
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+	
+	private final String _name;
+	private final long _tickDuration;
+	private final WheelTask[] _buckets;
+	private final int _mask;
+	private final Executor _executor;
+	
+	private final Queue<WheelTask> _pendingTasks = new ConcurrentLinkedQueue<>();
+	private final Queue<WheelTask> _cancelledTasks = new ConcurrentLinkedQueue<>();
+	
+	private final AtomicLong _liveTasks = new AtomicLong();
+	private final AtomicLong _rejectedTasks = new AtomicLong();
+	
+	private final long _startTime;
+	private final Thread _worker;
+	
+	private volatile boolean _isShutdown;
+	
+	private long _tick;
+	
+	/**
+	 * @param name : The name of this timer, used by its worker thread.
+	 * @param tickDuration : The duration of a tick, in milliseconds.
+	 * @param wheelSize : The amount of buckets, rounded up to a power of 2.
+	 * @param executor : The {@link Executor} running expired tasks.
+	 */
+	public HashedWheelTimer(String name, long tickDuration, int wheelSize, Executor executor)
+	{
+		int size = 1;
+		while (size < wheelSize)
+			size <<= 1;
+		
+		_name = name;
+		_tickDuration = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickDuration));
+		_buckets = new WheelTask[size];
+		_mask = size - 1;
+		_executor = executor;
+		
+		_startTime = System.nanoTime();
+		
+		_worker = new Thread(this::runWorker, name);
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+	
+	/**
+	 * Schedules a one-shot action that becomes enabled after a delay.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution, in milliseconds.
+	 * @return a ScheduledFuture representing pending completion of the task.
+	 */
+	public ScheduledFuture<?> schedule(Runnable r, long delay)
+	{
+		return add(new WheelTask(this, r, toDeadline(delay), 0));
+	}
+	
+	/**
+	 * Schedules a one-shot action that becomes enabled after a delay, and return a light {@link Timeout} handle over it.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution, in milliseconds.
+	 * @return a Timeout representing pending completion of the task.
+	 */
+	public Timeout newTimeout(Runnable r, long delay)
+	{
+		return add(new WheelTask(this, r, toDeadline(delay), 0));
+	}
+	
+	/**
+	 * Schedules a periodic action that becomes enabled after a delay, and return a light {@link Timeout} handle over it.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution, in milliseconds.
+	 * @param period : the period between successive executions, in milliseconds.
+	 * @return a Timeout representing pending completion of the task.
+	 */
+	public Timeout newTimeout(Runnable r, long delay, long period)
+	{
+		return add(new WheelTask(this, r, toDeadline(delay), TimeUnit.MILLISECONDS.toNanos(Math.max(1, period))));
+	}
+	
+	/**
+	 * Schedules a periodic action that becomes enabled after a delay.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution, in milliseconds.
+	 * @param period : the period between successive executions, in milliseconds.
+	 * @return a ScheduledFuture representing pending completion of the task.
+	 */
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable r, long delay, long period)
+	{
+		return add(new WheelTask(this, r, toDeadline(delay), TimeUnit.MILLISECONDS.toNanos(Math.max(1, period))));
+	}
+	
+	/**
+	 * @return the amount of scheduled tasks which are neither done nor cancelled.
+	 */
+	public long getLiveTasks()
+	{
+		return _liveTasks.get();
+	}
+	
+	/**
+	 * @return the amount of expired tasks the {@link Executor} refused to run.
+	 */
+	public long getRejectedTasks()
+	{
+		return _rejectedTasks.get();
+	}
+	
+	/**
+	 * @return the tick duration, in milliseconds.
+	 */
+	public long getTickDuration()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(_tickDuration);
+	}
+	
+	/**
+	 * Stop the worker thread. Pending tasks are cancelled.
+	 */
+	public void shutdown()
+	{
+		_isShutdown = true;
+		
+		LockSupport.unpark(_worker);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return _name + ": buckets=" + _buckets.length + " tick=" + getTickDuration() + "ms live=" + getLiveTasks() + " rejected=" + getRejectedTasks();
+	}
+	
+	private long toDeadline(long delay)
+	{
+		return System.nanoTime() - _startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+	}
+	
+	private WheelTask add(WheelTask task)
+	{
+		if (_isShutdown)
+			throw new RejectedExecutionException(_name + " is shutdown.");
+		
+		_liveTasks.incrementAndGet();
+		_pendingTasks.add(task);
+		return task;
+	}
+	
+	private void runWorker()
+	{
+		while (!_isShutdown)
+		{
+			// Wait until the end of the current tick.
+			final long sleepTime = _tickDuration * (_tick + 1) - (System.nanoTime() - _startTime);
+			if (sleepTime > 0)
+			{
+				LockSupport.parkNanos(this, sleepTime);
+				continue;
+			}
+			
+			try
+			{
+				removeCancelledTasks();
+				transferPendingTasks();
+				expireTasks(_tick & _mask, _tickDuration * (_tick + 1));
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Exception in {} worker.", e, _name);
+			}
+			
+			_tick++;
+		}
+		
+		cancelRemainingTasks();
+	}
+	
+	/**
+	 * Cancel all tasks left once the worker is stopped, so they are no longer counted as live and threads waiting on them are released.
+	 */
+	private void cancelRemainingTasks()
+	{
+		WheelTask task;
+		while ((task = _pendingTasks.poll()) != null)
+			task.complete(WheelTask.CANCELLED);
+		
+		for (int i = 0; i < _buckets.length; i++)
+		{
+			task = _buckets[i];
+			while (task != null)
+			{
+				final WheelTask next = task._next;
+				task.complete(WheelTask.CANCELLED);
+				task = next;
+			}
+			_buckets[i] = null;
+		}
+	}
+	
+	/**
+	 * Unlink cancelled tasks from their bucket.
+	 */
+	private void removeCancelledTasks()
+	{
+		WheelTask task;
+		while ((task = _cancelledTasks.poll()) != null)
+			unlink(task);
+	}
+	
+	/**
+	 * Hash pending tasks into their bucket. Tasks added during this tick are processed on next tick.
+	 */
+	private void transferPendingTasks()
+	{
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++)
+		{
+			final WheelTask task = _pendingTasks.poll();
+			if (task == null)
+				return;
+			
+			// Task was cancelled before being hashed, skip it.
+			if (task._state != WheelTask.WAITING)
+				continue;
+			
+			final long expirationTick = task._deadline / _tickDuration;
+			
+			task._remainingRounds = (expirationTick - _tick) / _buckets.length;
+			
+			// Don't hash a task into an already processed bucket.
+			final int index = (int) (Math.max(expirationTick, _tick) & _mask);
+			
+			task._bucket = index;
+			task._next = _buckets[index];
+			if (task._next != null)
+				task._next._previous = task;
+			
+			_buckets[index] = task;
+		}
+	}
+	
+	/**
+	 * Run tasks of a bucket whose remaining rounds reached 0, and decrement remaining rounds of others.
+	 * @param index : The bucket index.
+	 * @param deadline : The current tick deadline.
+	 */
+	private void expireTasks(long index, long deadline)
+	{
+		WheelTask task = _buckets[(int) index];
+		while (task != null)
+		{
+			final WheelTask next = task._next;
+			
+			if (task._state != WheelTask.WAITING)
+				unlink(task);
+			else if (task._remainingRounds <= 0 && task._deadline <= deadline)
+			{
+				unlink(task);
+				
+				try
+				{
+					_executor.execute(task);
+				}
+				catch (RejectedExecutionException e)
+				{
+					if (_rejectedTasks.incrementAndGet() % 1000 == 1)
+						LOGGER.warn("{} executor refused a task (total: {}), retrying on next tick: {}.", _name, _rejectedTasks.get(), e.getMessage());
+					
+					// The executor is saturated : the task is due, so retry it on next tick, rather than dropping it. Tasks left on shutdown are cancelled once the worker stops.
+					_pendingTasks.add(task);
+				}
+			}
+			else
+				task._remainingRounds--;
+			
+			task = next;
+		}
+	}
+	
+	private void unlink(WheelTask task)
+	{
+		// Task isn't hashed.
+		if (task._bucket < 0)
+			return;
+		
+		if (task._previous != null)
+			task._previous._next = task._next;
+		else
+			_buckets[task._bucket] = task._next;
+		
+		if (task._next != null)
+			task._next._previous = task._previous;
+		
+		task._bucket = -1;
+		task._next = null;
+		task._previous = null;
+	}
+	
+	/**
+	 * A task registered on a {@link HashedWheelTimer}. Bucket related fields are only accessed by the worker thread.
+	 */
+	private static final class WheelTask implements ScheduledFuture<Object>, Timeout, Runnable
+	{
+		private static final int WAITING = 0;
+		private static final int CANCELLED = 1;
+		private static final int DONE = 2;
+		
+		private static final AtomicIntegerFieldUpdater<WheelTask> STATE = AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "_state");
+		
+		private final HashedWheelTimer _timer;
+		private final Runnable _runnable;
+		private final long _period;
+		
+		private volatile int _state;
+		private volatile long _deadline;
+		
+		private long _remainingRounds;
+		private int _bucket = -1;
+		private WheelTask _next;
+		private WheelTask _previous;
+		
+		protected WheelTask(HashedWheelTimer timer, Runnable runnable, long deadline, long period)
+		{
+			_timer = timer;
+			_runnable = runnable;
+			_deadline = deadline;
+			_period = period;
+		}
+		
+		@Override
+		public void run()
+		{
+			// Task was cancelled while waiting in the executor queue.
+			if (_state != WAITING)
+				return;
+			
+			try
+			{
+				_runnable.run();
+			}
+			catch (RuntimeException e)
+			{
+				LOGGER.error("Exception in a {} task execution.", e, _timer._name);
+			}
+			
+			// One-shot task, or the timer got shutdown : the task is over.
+			if (_period == 0 || _timer._isShutdown)
+			{
+				complete(DONE);
+				return;
+			}
+			
+			// Rearm the periodic task, unless it was cancelled during its execution.
+			if (_state == WAITING)
+			{
+				_deadline += _period;
+				_timer._pendingTasks.add(this);
+			}
+		}
+		
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			if (!complete(CANCELLED))
+				return false;
+			
+			_timer._cancelledTasks.add(this);
+			return true;
+		}
+		
+		@Override
+		public boolean cancel()
+		{
+			return cancel(false);
+		}
+		
+		@Override
+		public boolean isCancelled()
+		{
+			return _state == CANCELLED;
+		}
+		
+		@Override
+		public boolean isDone()
+		{
+			return _state != WAITING;
+		}
+		
+		@Override
+		public long getDelay(TimeUnit unit)
+		{
+			return unit.convert(_deadline - (System.nanoTime() - _timer._startTime), TimeUnit.NANOSECONDS);
+		}
+		
+		@Override
+		public long getDelay()
+		{
+			return getDelay(TimeUnit.MILLISECONDS);
+		}
+		
+		@Override
+		public int compareTo(Delayed other)
+		{
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+		
+		@Override
+		public Object get() throws InterruptedException, ExecutionException
+		{
+			synchronized (this)
+			{
+				while (_state == WAITING)
+					wait();
+			}
+			
+			if (_state == CANCELLED)
+				throw new CancellationException();
+			
+			return null;
+		}
+		
+		@Override
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+		{
+			final long end = System.nanoTime() + unit.toNanos(timeout);
+			
+			synchronized (this)
+			{
+				while (_state == WAITING)
+				{
+					final long left = end - System.nanoTime();
+					if (left <= 0)
+						throw new TimeoutException();
+					
+					TimeUnit.NANOSECONDS.timedWait(this, left);
+				}
+			}
+			
+			if (_state == CANCELLED)
+				throw new CancellationException();
+			
+			return null;
+		}
+		
+		/**
+		 * Move this task from WAITING to the given final state, and wake up threads waiting on {@link #get()}.
+		 * @param state : The final state.
+		 * @return true if this call completed the task, false if it was already completed.
+		 */
+		protected boolean complete(int state)
+		{
+			if (!STATE.compareAndSet(this, WAITING, state))
+				return false;
+			
+			_timer._liveTasks.decrementAndGet();
+			
+			synchronized (this)
+			{
+				notifyAll();
+			}
+			return true;
+		}
+	}
+}
\ No newline at end of file
@@ -1,10 +1,19 @@
 package net.sf.l2j.commons.pool;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.sf.l2j.commons.logging.CLogger;
 
@@ -19,6 +28,12 @@ import net.sf.l2j.Config;
  * <li>Scheduled pool keeps a track about incoming, future events.</li>
  * <li>Instant pool handles short-life events.</li>
  * </ul>
+ * <p>
+ * Alternatively, a work-stealing backend can be used : a single {@link ForkJoinPool} runs instant tasks, and a {@link HashedWheelTimer} hands scheduled tasks over to it.
+ * </p>
+ * <p>
+ * Tasks which may block for a long time (such as database access) can be run on a separate thread-per-task executor, using virtual threads if the JVM supports them.
+ * </p>
  */
 public final class ThreadPool
 {
@@ -26,16 +41,51 @@ public final class ThreadPool
 	
 	private static final long MAX_DELAY = TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE - System.nanoTime()) / 2;
 	
-	private static int _threadPoolRandomizer;
+	private static final int WHEEL_SIZE = 512;
+	
+	private static final int DROP_LOG_INTERVAL = 1000;
+	
+	private static final AtomicInteger _threadPoolRandomizer = new AtomicInteger();
+	
+	private static final AtomicLong _rejectedTasks = new AtomicLong();
+	
+	private static final AtomicInteger _runningBlockingTasks = new AtomicInteger();
+	private static final AtomicLong _blockingTasks = new AtomicLong();
 	
 	protected static ScheduledThreadPoolExecutor[] _scheduledPools;
 	protected static ThreadPoolExecutor[] _instantPools;
 	
+	protected static ForkJoinPool _forkJoinPool;
+	protected static HashedWheelTimer _scheduledWheel;
+	protected static HashedWheelTimer _timerWheel;
+	
+	protected static ExecutorService _blockingPool;
+	protected static boolean _isBlockingPoolVirtual;
+	
 	/**
 	 * Init the different pools, based on Config. It is launched only once, on Gameserver instance.
 	 */
 	public static void init()
 	{
+		// Feed blocking pool.
+		_blockingPool = createBlockingPool();
+		
+		if (Config.USE_FORK_JOIN_THREAD_POOL)
+		{
+			int poolCount = Config.INSTANT_THREAD_POOL_COUNT;
+			if (poolCount == -1)
+				poolCount = Runtime.getRuntime().availableProcessors();
+			
+			_forkJoinPool = new ForkJoinPool(Math.max(1, poolCount * Config.THREADS_PER_INSTANT_THREAD_POOL), ForkJoinPool.defaultForkJoinWorkerThreadFactory, (t, e) -> LOGGER.error("Uncaught exception in {}.", e, t.getName()), true);
+			_scheduledWheel = new HashedWheelTimer("ThreadPool-wheel", Config.WHEEL_TIMER_TICK_DURATION, WHEEL_SIZE, _forkJoinPool);
+			
+			// Short timers share the scheduled tasks wheel.
+			_timerWheel = _scheduledWheel;
+			
+			LOGGER.info("Initializing ThreadPool (fork-join).");
+			return;
+		}
+		
 		// Feed scheduled pool.
 		int poolCount = Config.SCHEDULED_THREAD_POOL_COUNT;
 		if (poolCount == -1)
@@ -61,6 +111,9 @@ public final class ThreadPool
 		for (ThreadPoolExecutor threadPool : _instantPools)
 			threadPool.prestartAllCoreThreads();
 		
+		// Feed short timers wheel. Expired timers run on the instant pool ; a refused timer must be reported to the wheel, so it is retried on next tick.
+		_timerWheel = new HashedWheelTimer("ThreadPool-timer", Config.WHEEL_TIMER_TICK_DURATION, WHEEL_SIZE, r -> getPool(_instantPools).execute(new TaskWrapper(r)));
+		
 		// Launch purge task.
 		scheduleAtFixedRate(() ->
 		{
@@ -84,10 +137,14 @@ public final class ThreadPool
 	{
 		try
 		{
+			if (_scheduledWheel != null)
+				return _scheduledWheel.schedule(r, validate(delay));
+			
 			return getPool(_scheduledPools).schedule(new TaskWrapper(r), validate(delay), TimeUnit.MILLISECONDS);
 		}
-		catch (Exception e)
+		catch (RejectedExecutionException e)
 		{
+			onRejectedTask(r, e);
 			return null;
 		}
 	}
@@ -103,10 +160,53 @@ public final class ThreadPool
 	{
 		try
 		{
+			if (_scheduledWheel != null)
+				return _scheduledWheel.scheduleAtFixedRate(r, validate(delay), validate(period));
+			
 			return getPool(_scheduledPools).scheduleAtFixedRate(new TaskWrapper(r), validate(delay), validate(period), TimeUnit.MILLISECONDS);
 		}
-		catch (Exception e)
+		catch (RejectedExecutionException e)
+		{
+			onRejectedTask(r, e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Schedules a short one-shot action (such as a combat timer) on a hashed timing wheel. Both insertion and cancellation are O(1), but the precision is limited to the wheel tick duration.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution.
+	 * @return a {@link Timeout} representing pending completion of the task.
+	 */
+	public static Timeout scheduleTimer(Runnable r, long delay)
+	{
+		try
+		{
+			return _timerWheel.newTimeout(r, validate(delay));
+		}
+		catch (RejectedExecutionException e)
+		{
+			onRejectedTask(r, e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Schedules a periodic action on a hashed timing wheel. Both insertion and cancellation are O(1), but the precision is limited to the wheel tick duration.
+	 * @param r : the task to execute.
+	 * @param delay : the time from now to delay execution.
+	 * @param period : the period between successive executions.
+	 * @return a {@link Timeout} representing pending completion of the task.
+	 */
+	public static Timeout scheduleTimerAtFixedRate(Runnable r, long delay, long period)
+	{
+		try
+		{
+			return _timerWheel.newTimeout(r, validate(delay), validate(period));
+		}
+		catch (RejectedExecutionException e)
 		{
+			onRejectedTask(r, e);
 			return null;
 		}
 	}
@@ -119,49 +219,95 @@ public final class ThreadPool
 	{
 		try
 		{
-			getPool(_instantPools).execute(new TaskWrapper(r));
+			if (_forkJoinPool != null)
+				_forkJoinPool.execute(new TaskWrapper(r));
+			else
+				getPool(_instantPools).execute(new TaskWrapper(r));
 		}
-		catch (Exception e)
+		catch (RejectedExecutionException e)
+		{
+			onRejectedTask(r, e);
+		}
+	}
+	
+	/**
+	 * Executes the given task, which may block for a long time, on a thread of its own. Such task doesn't hold a thread of the instant pool.
+	 * @param r : the task to execute.
+	 */
+	public static void executeBlocking(Runnable r)
+	{
+		try
+		{
+			_blockingTasks.incrementAndGet();
+			_blockingPool.execute(() ->
+			{
+				_runningBlockingTasks.incrementAndGet();
+				try
+				{
+					r.run();
+				}
+				catch (RuntimeException e)
+				{
+					LOGGER.error("Exception in a ThreadPool blocking task execution.", e);
+				}
+				finally
+				{
+					_runningBlockingTasks.decrementAndGet();
+				}
+			});
+		}
+		catch (RejectedExecutionException e)
 		{
+			onRejectedTask(r, e);
 		}
 	}
 	
 	/**
-	 * Retrieve stats of current running thread pools.
+	 * @return the amount of tasks refused by a pool, either because it was shutdown or because its queue was full.
+	 */
+	public static long getRejectedTasks()
+	{
+		return _rejectedTasks.get();
+	}
+	
+	/**
+	 * @return the amount of tasks dropped without being run, either refused by a pool or expired on a saturated timer.
 	 */
-	public static void getStats()
+	public static long getDroppedTasks()
 	{
+		return _rejectedTasks.get() + ((_timerWheel == null) ? 0 : _timerWheel.getRejectedTasks());
+	}
+	
+	/**
+	 * @return statistics of current running thread pools, such as active threads and queue depth of each pool.
+	 */
+	public static List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("ThreadPool: rejected=" + getRejectedTasks() + " dropped=" + getDroppedTasks());
+		list.add("Timer wheel: tick=" + _timerWheel.getTickDuration() + "ms buckets=" + WHEEL_SIZE + " pending=" + _timerWheel.getLiveTasks());
+		list.add("Blocking pool: virtual=" + _isBlockingPoolVirtual + " running=" + _runningBlockingTasks.get() + " executed=" + _blockingTasks.get());
+		
+		if (_forkJoinPool != null)
+		{
+			list.add("ForkJoin pool: parallelism=" + _forkJoinPool.getParallelism() + " size=" + _forkJoinPool.getPoolSize() + " active=" + _forkJoinPool.getActiveThreadCount() + " queued=" + (_forkJoinPool.getQueuedSubmissionCount() + _forkJoinPool.getQueuedTaskCount()) + " steals=" + _forkJoinPool.getStealCount());
+			return list;
+		}
+		
 		for (int i = 0; i < _scheduledPools.length; i++)
 		{
 			final ScheduledThreadPoolExecutor threadPool = _scheduledPools[i];
 			
-			LOGGER.info("=================================================");
-			LOGGER.info("Scheduled pool #" + i + ":");
-			LOGGER.info("\tgetActiveCount: ...... " + threadPool.getActiveCount());
-			LOGGER.info("\tgetCorePoolSize: ..... " + threadPool.getCorePoolSize());
-			LOGGER.info("\tgetPoolSize: ......... " + threadPool.getPoolSize());
-			LOGGER.info("\tgetLargestPoolSize: .. " + threadPool.getLargestPoolSize());
-			LOGGER.info("\tgetMaximumPoolSize: .. " + threadPool.getMaximumPoolSize());
-			LOGGER.info("\tgetCompletedTaskCount: " + threadPool.getCompletedTaskCount());
-			LOGGER.info("\tgetQueuedTaskCount: .. " + threadPool.getQueue().size());
-			LOGGER.info("\tgetTaskCount: ........ " + threadPool.getTaskCount());
+			list.add("Scheduled pool #" + i + ": active=" + threadPool.getActiveCount() + " size=" + threadPool.getPoolSize() + " queued=" + threadPool.getQueue().size() + " completed=" + threadPool.getCompletedTaskCount());
 		}
 		
 		for (int i = 0; i < _instantPools.length; i++)
 		{
 			final ThreadPoolExecutor threadPool = _instantPools[i];
 			
-			LOGGER.info("=================================================");
-			LOGGER.info("Instant pool #" + i + ":");
-			LOGGER.info("\tgetActiveCount: ...... " + threadPool.getActiveCount());
-			LOGGER.info("\tgetCorePoolSize: ..... " + threadPool.getCorePoolSize());
-			LOGGER.info("\tgetPoolSize: ......... " + threadPool.getPoolSize());
-			LOGGER.info("\tgetLargestPoolSize: .. " + threadPool.getLargestPoolSize());
-			LOGGER.info("\tgetMaximumPoolSize: .. " + threadPool.getMaximumPoolSize());
-			LOGGER.info("\tgetCompletedTaskCount: " + threadPool.getCompletedTaskCount());
-			LOGGER.info("\tgetQueuedTaskCount: .. " + threadPool.getQueue().size());
-			LOGGER.info("\tgetTaskCount: ........ " + threadPool.getTaskCount());
+			list.add("Instant pool #" + i + ": active=" + threadPool.getActiveCount() + " size=" + threadPool.getPoolSize() + " queued=" + threadPool.getQueue().size() + " completed=" + threadPool.getCompletedTaskCount());
 		}
+		return list;
 	}
 	
 	/**
@@ -173,6 +319,15 @@ public final class ThreadPool
 		{
 			LOGGER.info("ThreadPool: Shutting down.");
 			
+			_timerWheel.shutdown();
+			_blockingPool.shutdownNow();
+			
+			if (_forkJoinPool != null)
+			{
+				_forkJoinPool.shutdownNow();
+				return;
+			}
+			
 			for (ScheduledThreadPoolExecutor threadPool : _scheduledPools)
 				threadPool.shutdownNow();
 			
@@ -192,7 +347,39 @@ public final class ThreadPool
 	 */
 	private static <T> T getPool(T[] threadPools)
 	{
-		return threadPools[_threadPoolRandomizer++ % threadPools.length];
+		return threadPools[Math.floorMod(_threadPoolRandomizer.getAndIncrement(), threadPools.length)];
+	}
+	
+	/**
+	 * Count a task refused by a pool. A warning is logged for the first refused task, then every {@link #DROP_LOG_INTERVAL} refused tasks.
+	 * @param r : The refused task.
+	 * @param e : The exception thrown by the pool.
+	 */
+	private static void onRejectedTask(Runnable r, RejectedExecutionException e)
+	{
+		final long rejected = _rejectedTasks.incrementAndGet();
+		
+		if (rejected % DROP_LOG_INTERVAL == 1)
+			LOGGER.warn("ThreadPool refused {} (total: {}): {}.", r, rejected, e.getMessage());
+	}
+	
+	/**
+	 * @return a virtual thread per task executor if the JVM supports it, or an unbounded cached pool of platform threads otherwise.
+	 */
+	private static ExecutorService createBlockingPool()
+	{
+		try
+		{
+			// Resolved by reflection, so the server still builds and runs on JVMs without virtual threads.
+			final ExecutorService pool = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			
+			_isBlockingPoolVirtual = true;
+			return pool;
+		}
+		catch (ReflectiveOperationException | RuntimeException e)
+		{
+			return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+		}
 	}
 	
 	/**
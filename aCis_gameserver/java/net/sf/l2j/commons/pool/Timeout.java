@@ -0,0 +1,28 @@
+package net.sf.l2j.commons.pool;
+
+/**
+ * A handle over a short task registered on a {@link HashedWheelTimer}, as returned by {@link ThreadPool#scheduleTimer(Runnable, long)}.
+ */
+public interface Timeout
+{
+	/**
+	 * Cancel the task, in O(1). It has no effect if the task already ran or was already cancelled.
+	 * @return true if the task was cancelled by this call.
+	 */
+	public boolean cancel();
+	
+	/**
+	 * @return true if the task was cancelled before running.
+	 */
+	public boolean isCancelled();
+	
+	/**
+	 * @return true if the task ran, was dropped or was cancelled.
+	 */
+	public boolean isDone();
+	
+	/**
+	 * @return the remaining delay before the task runs, in milliseconds.
+	 */
+	public long getDelay();
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package net.sf.l2j.gameserver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.l2j.commons.lang.StringUtil;
+import net.sf.l2j.commons.logging.CLogger;
+
+/**
+ * A graph of server loading stages.<br>
+ * <br>
+ * Each stage declares the stages it depends on, which must be added before it. A stage starts as soon as all its dependencies are loaded, so independent stages are loaded concurrently on a dedicated startup pool. A stage failing prevents its dependent stages to load, and is reported once all other stages are loaded.<br>
+ * <br>
+ * Once loaded, the time spent on each stage and the total loading time are logged.
+ */
+public final class Bootstrap
+{
+	private static final CLogger LOGGER = new CLogger(Bootstrap.class.getName());
+	
+	private final Map<String, Stage> _stages = new LinkedHashMap<>();
+	
+	/**
+	 * Add a stage to this graph.
+	 * @param name : The name of the stage, also printed as a section.
+	 * @param task : The task loading the stage.
+	 * @param dependencies : The names of the stages which must be loaded first.
+	 * @return this Bootstrap, for chaining.
+	 */
+	public Bootstrap add(String name, Runnable task, String... dependencies)
+	{
+		if (_stages.containsKey(name))
+			throw new IllegalArgumentException("Stage " + name + " is already declared.");
+		
+		final List<Stage> stages = new ArrayList<>(dependencies.length);
+		for (String dependency : dependencies)
+		{
+			final Stage stage = _stages.get(dependency);
+			if (stage == null)
+				throw new IllegalArgumentException("Stage " + name + " depends on undeclared stage " + dependency + ".");
+			
+			stages.add(stage);
+		}
+		
+		_stages.put(name, new Stage(name, task, stages));
+		return this;
+	}
+	
+	/**
+	 * Load all stages, and wait for them to end.
+	 * @param threads : The amount of threads used to load stages, or 0 to use all available cores.
+	 * @throws Exception the first exception thrown by a stage, if any.
+	 */
+	public void run(int threads) throws Exception
+	{
+		final int poolSize = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+		
+		final AtomicInteger threadId = new AtomicInteger();
+		final ExecutorService pool = Executors.newFixedThreadPool(poolSize, r ->
+		{
+			final Thread t = new Thread(r, "Bootstrap-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		
+		final long start = System.currentTimeMillis();
+		
+		try
+		{
+			// Stages are declared after their dependencies, so their futures already exist.
+			for (Stage stage : _stages.values())
+			{
+				final CompletableFuture<?>[] dependencies = stage._dependencies.stream().map(s -> s._future).toArray(CompletableFuture[]::new);
+				stage._future = CompletableFuture.allOf(dependencies).thenRunAsync(stage, pool);
+			}
+			
+			Exception error = null;
+			for (Stage stage : _stages.values())
+			{
+				try
+				{
+					stage._future.join();
+				}
+				catch (CompletionException e)
+				{
+					// Only report the failing stage, not its dependent stages.
+					if (stage._failed && error == null)
+						error = (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+				}
+			}
+			
+			if (error != null)
+				throw error;
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		final long total = System.currentTimeMillis() - start;
+		
+		StringUtil.printSection("Startup");
+		
+		long sum = 0;
+		for (Stage stage : _stages.values())
+		{
+			LOGGER.info("{}: {}ms.", stage._name, stage._time);
+			sum += stage._time;
+		}
+		LOGGER.info("Loaded {} stages in {}ms using {} threads ({}ms if loaded one by one).", _stages.size(), total, poolSize, sum);
+	}
+	
+	private static class Stage implements Runnable
+	{
+		private final String _name;
+		private final Runnable _task;
+		private final List<Stage> _dependencies;
+		
+		private CompletableFuture<Void> _future;
+		private long _time;
+		private boolean _failed;
+		
+		public Stage(String name, Runnable task, List<Stage> dependencies)
+		{
+			_name = name;
+			_task = task;
+			_dependencies = dependencies;
+		}
+		
+		@Override
+		public void run()
+		{
+			StringUtil.printSection(_name);
+			
+			final long start = System.currentTimeMillis();
+			try
+			{
+				_task.run();
+			}
+			catch (RuntimeException | Error e)
+			{
+				_failed = true;
+				LOGGER.error("Couldn't load {} stage.", e, _name);
+				throw e;
+			}
+			finally
+			{
+				_time = System.currentTimeMillis() - start;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -91,13 +91,20 @@ import net.sf.l2j.gameserver.model.olympiad.Olympiad;
 import net.sf.l2j.gameserver.model.olympiad.OlympiadGameManager;
 import net.sf.l2j.gameserver.network.GameClient;
 import net.sf.l2j.gameserver.network.GamePacketHandler;
+import net.sf.l2j.gameserver.taskmanager.AiTaskManager;
 import net.sf.l2j.gameserver.taskmanager.AttackStanceTaskManager;
 import net.sf.l2j.gameserver.taskmanager.DecayTaskManager;
+import net.sf.l2j.gameserver.taskmanager.EffectTaskManager;
 import net.sf.l2j.gameserver.taskmanager.GameTimeTaskManager;
+import net.sf.l2j.gameserver.taskmanager.ItemUpdateTaskManager;
 import net.sf.l2j.gameserver.taskmanager.ItemsOnGroundTaskManager;
+import net.sf.l2j.gameserver.taskmanager.MemoUpdateTaskManager;
+import net.sf.l2j.gameserver.taskmanager.MovementTaskManager;
 import net.sf.l2j.gameserver.taskmanager.PvpFlagTaskManager;
 import net.sf.l2j.gameserver.taskmanager.RandomAnimationTaskManager;
+import net.sf.l2j.gameserver.taskmanager.RespawnTaskManager;
 import net.sf.l2j.gameserver.taskmanager.ShadowItemTaskManager;
+import net.sf.l2j.gameserver.taskmanager.UserInfoTaskManager;
 import net.sf.l2j.gameserver.taskmanager.WaterTaskManager;
 import net.sf.l2j.util.DeadLockDetector;
 import net.sf.l2j.util.IPv4Filter;
@@ -142,128 +149,165 @@ public class GameServer
 		StringUtil.printSection("IdFactory");
 		IdFactory.getInstance();
 		
-		StringUtil.printSection("Cache");
-		HtmCache.getInstance();
-		CrestCache.getInstance();
-		
-		StringUtil.printSection("World");
-		World.getInstance();
-		MapRegionData.getInstance();
-		AnnouncementData.getInstance();
-		ServerMemoTable.getInstance();
-		
-		StringUtil.printSection("Skills");
-		SkillTable.getInstance();
-		SkillTreeData.getInstance();
-		
-		StringUtil.printSection("Items");
-		ItemData.getInstance();
-		SummonItemData.getInstance();
-		HennaData.getInstance();
-		BuyListManager.getInstance();
-		MultisellData.getInstance();
-		RecipeData.getInstance();
-		ArmorSetData.getInstance();
-		FishData.getInstance();
-		SpellbookData.getInstance();
-		SoulCrystalData.getInstance();
-		AugmentationData.getInstance();
-		CursedWeaponManager.getInstance();
-		
-		StringUtil.printSection("Admins");
-		AdminData.getInstance();
-		BookmarkTable.getInstance();
-		PetitionManager.getInstance();
-		
-		StringUtil.printSection("Characters");
-		PlayerData.getInstance();
-		PlayerInfoTable.getInstance();
-		PlayerLevelData.getInstance();
-		PartyMatchRoomManager.getInstance();
-		RaidPointManager.getInstance();
-		
-		StringUtil.printSection("Community server");
-		CommunityBoard.getInstance();
-		
-		StringUtil.printSection("Clans");
-		ClanTable.getInstance();
-		
-		StringUtil.printSection("Geodata & Pathfinding");
-		GeoEngine.getInstance();
-		
-		StringUtil.printSection("Zones");
-		ZoneManager.getInstance();
-		
-		StringUtil.printSection("Castles & Clan Halls");
-		CastleManager.getInstance();
-		ClanHallManager.getInstance();
-		
-		StringUtil.printSection("Task Managers");
-		AttackStanceTaskManager.getInstance();
-		DecayTaskManager.getInstance();
-		GameTimeTaskManager.getInstance();
-		ItemsOnGroundTaskManager.getInstance();
-		PvpFlagTaskManager.getInstance();
-		RandomAnimationTaskManager.getInstance();
-		ShadowItemTaskManager.getInstance();
-		WaterTaskManager.getInstance();
-		
-		StringUtil.printSection("Auto Spawns");
-		AutoSpawnTable.getInstance();
-		
-		StringUtil.printSection("Seven Signs");
-		SevenSignsManager.getInstance().spawnSevenSignsNPC();
-		FestivalOfDarknessManager.getInstance();
-		
-		StringUtil.printSection("Manor Manager");
-		CastleManorManager.getInstance();
-		
-		StringUtil.printSection("NPCs");
-		BufferManager.getInstance();
-		HerbDropData.getInstance();
-		NpcData.getInstance();
-		WalkerRouteData.getInstance();
-		DoorData.getInstance().spawn();
-		StaticObjectData.getInstance();
-		SpawnTable.getInstance();
-		RaidBossManager.getInstance();
-		GrandBossManager.getInstance();
-		DayNightManager.getInstance().notifyChangeMode();
-		DimensionalRiftManager.getInstance();
-		NewbieBuffData.getInstance();
-		InstantTeleportData.getInstance();
-		TeleportData.getInstance();
-		
-		StringUtil.printSection("Olympiads & Heroes");
-		OlympiadGameManager.getInstance();
-		Olympiad.getInstance();
-		HeroManager.getInstance();
-		
-		StringUtil.printSection("Four Sepulchers");
-		FourSepulchersManager.getInstance();
-		
-		StringUtil.printSection("Quests & Scripts");
-		ScriptData.getInstance();
-		
-		if (Config.ALLOW_BOAT)
+		// Stages are loaded concurrently, once the stages they depend on are loaded.
+		final Bootstrap bootstrap = new Bootstrap();
+		
+		bootstrap.add("Cache", () ->
 		{
-			BoatManager.getInstance();
-			BoatGiranTalking.load();
-			BoatGludinRune.load();
-			BoatInnadrilTour.load();
-			BoatRunePrimeval.load();
-			BoatTalkingGludin.load();
-		}
+			HtmCache.getInstance();
+			CrestCache.getInstance();
+		});
 		
-		StringUtil.printSection("Events");
-		DerbyTrackManager.getInstance();
-		LotteryManager.getInstance();
+		bootstrap.add("World", () ->
+		{
+			World.getInstance();
+			MapRegionData.getInstance();
+			AnnouncementData.getInstance();
+			ServerMemoTable.getInstance();
+		}, "Cache");
+		
+		bootstrap.add("Skills", () ->
+		{
+			SkillTable.getInstance();
+			SkillTreeData.getInstance();
+		});
 		
-		if (Config.ALLOW_WEDDING)
-			CoupleManager.getInstance();
+		bootstrap.add("Items", () ->
+		{
+			ItemData.getInstance();
+			SummonItemData.getInstance();
+			HennaData.getInstance();
+			BuyListManager.getInstance();
+			MultisellData.getInstance();
+			RecipeData.getInstance();
+			ArmorSetData.getInstance();
+			FishData.getInstance();
+			SpellbookData.getInstance();
+			SoulCrystalData.getInstance();
+			AugmentationData.getInstance();
+			CursedWeaponManager.getInstance();
+		}, "Skills");
+		
+		bootstrap.add("Admins", () ->
+		{
+			AdminData.getInstance();
+			BookmarkTable.getInstance();
+			PetitionManager.getInstance();
+		});
+		
+		bootstrap.add("Characters", () ->
+		{
+			PlayerData.getInstance();
+			PlayerInfoTable.getInstance();
+			PlayerLevelData.getInstance();
+			PartyMatchRoomManager.getInstance();
+			RaidPointManager.getInstance();
+		}, "Items");
+		
+		bootstrap.add("Community server", () -> CommunityBoard.getInstance());
+		
+		bootstrap.add("Clans", () -> ClanTable.getInstance(), "World", "Characters", "Community server");
+		
+		bootstrap.add("Geodata & Pathfinding", () -> GeoEngine.getInstance());
+		
+		bootstrap.add("Zones", () -> ZoneManager.getInstance(), "World");
+		
+		bootstrap.add("Castles & Clan Halls", () ->
+		{
+			CastleManager.getInstance();
+			ClanHallManager.getInstance();
+		}, "Clans", "Zones");
+		
+		// NPC templates refer to castles and clan halls.
+		bootstrap.add("NPC templates", () ->
+		{
+			BufferManager.getInstance();
+			HerbDropData.getInstance();
+			NpcData.getInstance();
+			WalkerRouteData.getInstance();
+		}, "Characters", "Castles & Clan Halls");
+		
+		// Following stages populate the world : they are loaded one by one, once everything above is loaded.
+		bootstrap.add("Task Managers", () ->
+		{
+			AiTaskManager.getInstance();
+			AttackStanceTaskManager.getInstance();
+			DecayTaskManager.getInstance();
+			EffectTaskManager.getInstance();
+			GameTimeTaskManager.getInstance();
+			ItemUpdateTaskManager.getInstance();
+			ItemsOnGroundTaskManager.getInstance();
+			MemoUpdateTaskManager.getInstance();
+			MovementTaskManager.getInstance();
+			PvpFlagTaskManager.getInstance();
+			RandomAnimationTaskManager.getInstance();
+			RespawnTaskManager.getInstance();
+			ShadowItemTaskManager.getInstance();
+			UserInfoTaskManager.getInstance();
+			WaterTaskManager.getInstance();
+		}, "Admins", "Geodata & Pathfinding", "NPC templates");
+		
+		bootstrap.add("Auto Spawns", () -> AutoSpawnTable.getInstance(), "Task Managers");
+		
+		bootstrap.add("Seven Signs", () ->
+		{
+			SevenSignsManager.getInstance().spawnSevenSignsNPC();
+			FestivalOfDarknessManager.getInstance();
+		}, "Auto Spawns");
+		
+		bootstrap.add("Manor Manager", () -> CastleManorManager.getInstance(), "Seven Signs");
+		
+		bootstrap.add("NPCs", () ->
+		{
+			DoorData.getInstance().spawn();
+			StaticObjectData.getInstance();
+			SpawnTable.getInstance();
+			RaidBossManager.getInstance();
+			GrandBossManager.getInstance();
+			DayNightManager.getInstance().notifyChangeMode();
+			DimensionalRiftManager.getInstance();
+			NewbieBuffData.getInstance();
+			InstantTeleportData.getInstance();
+			TeleportData.getInstance();
+		}, "Manor Manager");
+		
+		bootstrap.add("Olympiads & Heroes", () ->
+		{
+			OlympiadGameManager.getInstance();
+			Olympiad.getInstance();
+			HeroManager.getInstance();
+		}, "NPCs");
+		
+		bootstrap.add("Four Sepulchers", () -> FourSepulchersManager.getInstance(), "Olympiads & Heroes");
+		
+		bootstrap.add("Quests & Scripts", () ->
+		{
+			ScriptData.getInstance();
+			
+			if (Config.ALLOW_BOAT)
+			{
+				BoatManager.getInstance();
+				BoatGiranTalking.load();
+				BoatGludinRune.load();
+				BoatInnadrilTour.load();
+				BoatRunePrimeval.load();
+				BoatTalkingGludin.load();
+			}
+		}, "Four Sepulchers");
+		
+		bootstrap.add("Events", () ->
+		{
+			DerbyTrackManager.getInstance();
+			LotteryManager.getInstance();
+			
+			if (Config.ALLOW_WEDDING)
+				CoupleManager.getInstance();
+			
+			if (Config.ALLOW_FISH_CHAMPIONSHIP)
+				FishingChampionshipManager.getInstance();
+		}, "Quests & Scripts");
 		
-		if (Config.ALLOW_FISH_CHAMPIONSHIP)
-			FishingChampionshipManager.getInstance();
+		bootstrap.run(Config.STARTUP_THREADS);
 		
 		StringUtil.printSection("Handlers");
 		LOGGER.info("Loaded {} admin command handlers.", AdminCommandHandler.getInstance().size());
@@ -26,7 +26,9 @@ import net.sf.l2j.gameserver.network.SystemMessageId;
 import net.sf.l2j.gameserver.network.gameserverpackets.ServerStatus;
 import net.sf.l2j.gameserver.network.serverpackets.ServerClose;
 import net.sf.l2j.gameserver.network.serverpackets.SystemMessage;
+import net.sf.l2j.gameserver.taskmanager.ItemUpdateTaskManager;
 import net.sf.l2j.gameserver.taskmanager.ItemsOnGroundTaskManager;
+import net.sf.l2j.gameserver.taskmanager.MemoUpdateTaskManager;
 
 /**
  * This class provides functions for shutting down and restarting the server. It closes all client connections and saves data.
@@ -155,6 +157,14 @@ public class Shutdown extends Thread
 			// Save items on ground before closing
 			ItemsOnGroundTaskManager.getInstance().save();
 			
+			// Store pending items.
+			ItemUpdateTaskManager.getInstance().flush();
+			LOGGER.info("Pending items have been saved.");
+			
+			// Store pending quest variables and memos.
+			MemoUpdateTaskManager.getInstance().flush();
+			LOGGER.info("Pending memos have been saved.");
+			
 			try
 			{
 				GameServer.getInstance().getSelectorThread().shutdown();
@@ -1,19 +1,30 @@
 package net.sf.l2j.gameserver.data;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import net.sf.l2j.gameserver.skills.L2Skill;
 
+/**
+ * This class loads and stores {@link L2Skill}s.<br>
+ * <br>
+ * Skill files are parsed in parallel, each file into its own {@link DocumentSkill}. Skills are then stored in a dense array indexed by skill id, holding per-level arrays, so {@link #getInfo(int, int)} is resolved by two array reads.
+ */
 public class SkillTable
 {
 	private static final Logger _log = Logger.getLogger(SkillTable.class.getName());
 	
-	private static final Map<Integer, L2Skill> _skills = new HashMap<>();
-	private static final Map<Integer, Integer> _skillMaxLevel = new HashMap<>();
+	private static final L2Skill[] NO_LEVELS = new L2Skill[0];
+	
+	// Skills by id, then level. Replaced as a whole on reload, so lookups never see a partially loaded table.
+	private static volatile L2Skill[][] _skills = new L2Skill[0][];
+	private static volatile int[] _skillMaxLevel = new int[0];
+	private static volatile Collection<L2Skill> _skillList = Collections.emptyList();
 	
 	private static final L2Skill[] _heroSkills = new L2Skill[5];
 	private static final int[] _heroSkillsId =
@@ -52,34 +63,67 @@ public class SkillTable
 	
 	private void load()
 	{
-		final File dir = new File("./data/xml/skills");
+		final long start = System.currentTimeMillis();
+		
+		final File[] files = new File("./data/xml/skills").listFiles();
 		
-		for (File file : dir.listFiles())
+		// Each file is parsed by a single thread ; skills are merged in file order, so a redefined skill overrides the previous one.
+		final List<L2Skill> parsedSkills = Arrays.stream(files).parallel().flatMap(file ->
 		{
-			DocumentSkill doc = new DocumentSkill(file);
+			final DocumentSkill doc = new DocumentSkill(file);
 			doc.parse();
 			
-			for (L2Skill skill : doc.getSkills())
-				_skills.put(getSkillHashCode(skill), skill);
-		}
+			return doc.getSkills().stream();
+		}).collect(Collectors.toList());
 		
-		_log.info("SkillTable: Loaded " + _skills.size() + " skills.");
+		int maxId = -1;
+		for (L2Skill skill : parsedSkills)
+			maxId = Math.max(maxId, skill.getId());
 		
-		// Stores max level of skills in a map for future uses.
-		for (final L2Skill skill : _skills.values())
+		final int[] maxLevels = new int[maxId + 1];
+		final int[] arrayLengths = new int[maxId + 1];
+		for (L2Skill skill : parsedSkills)
 		{
-			// Only non-enchanted skills
+			final int skillId = skill.getId();
 			final int skillLvl = skill.getLevel();
+			
+			arrayLengths[skillId] = Math.max(arrayLengths[skillId], skillLvl + 1);
+			
+			// Stores max level of skills for future uses. Only non-enchanted skills.
 			if (skillLvl < 99)
+				maxLevels[skillId] = Math.max(maxLevels[skillId], skillLvl);
+		}
+		
+		final L2Skill[][] skills = new L2Skill[maxId + 1][];
+		for (int i = 0; i <= maxId; i++)
+			skills[i] = (arrayLengths[i] == 0) ? NO_LEVELS : new L2Skill[arrayLengths[i]];
+		
+		int count = 0;
+		for (L2Skill skill : parsedSkills)
+		{
+			if (skills[skill.getId()][skill.getLevel()] == null)
+				count++;
+			
+			skills[skill.getId()][skill.getLevel()] = skill;
+		}
+		
+		final L2Skill[] skillList = new L2Skill[count];
+		int index = 0;
+		for (L2Skill[] levels : skills)
+		{
+			for (L2Skill skill : levels)
 			{
-				final int skillId = skill.getId();
-				final int maxLvl = getMaxLevel(skillId);
-				
-				if (skillLvl > maxLvl)
-					_skillMaxLevel.put(skillId, skillLvl);
+				if (skill != null)
+					skillList[index++] = skill;
 			}
 		}
 		
+		_skills = skills;
+		_skillMaxLevel = maxLevels;
+		_skillList = Collections.unmodifiableList(Arrays.asList(skillList));
+		
+		_log.info("SkillTable: Loaded " + count + " skills from " + files.length + " files in " + (System.currentTimeMillis() - start) + "ms.");
+		
 		// Loading FrequentSkill enumeration values
 		for (FrequentSkill sk : FrequentSkill.values())
 			sk._skill = getInfo(sk._id, sk._level);
@@ -99,15 +143,12 @@ public class SkillTable
 	
 	public void reload()
 	{
-		_skills.clear();
-		_skillMaxLevel.clear();
-		
 		load();
 	}
 	
 	public Collection<L2Skill> getSkills()
 	{
-		return _skills.values();
+		return _skillList;
 	}
 	
 	/**
@@ -133,12 +174,21 @@ public class SkillTable
 	
 	public L2Skill getInfo(int skillId, int level)
 	{
-		return _skills.get(getSkillHashCode(skillId, level));
+		final L2Skill[][] skills = _skills;
+		if (skillId < 0 || skillId >= skills.length)
+			return null;
+		
+		final L2Skill[] levels = skills[skillId];
+		if (level < 0 || level >= levels.length)
+			return null;
+		
+		return levels[level];
 	}
 	
 	public int getMaxLevel(int skillId)
 	{
-		return _skillMaxLevel.getOrDefault(skillId, 0);
+		final int[] maxLevels = _skillMaxLevel;
+		return (skillId < 0 || skillId >= maxLevels.length) ? 0 : maxLevels[skillId];
 	}
 	
 	/**
@@ -150,11 +200,11 @@ public class SkillTable
 		L2Skill[] temp = new L2Skill[2 + (addNoble ? 1 : 0)];
 		int i = 0;
 		
-		temp[i++] = _skills.get(SkillTable.getSkillHashCode(246, 1));
-		temp[i++] = _skills.get(SkillTable.getSkillHashCode(247, 1));
+		temp[i++] = getInfo(246, 1);
+		temp[i++] = getInfo(247, 1);
 		
 		if (addNoble)
-			temp[i++] = _skills.get(SkillTable.getSkillHashCode(326, 1));
+			temp[i++] = getInfo(326, 1);
 		
 		return temp;
 	}
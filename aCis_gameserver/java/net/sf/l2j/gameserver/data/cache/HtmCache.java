@@ -1,62 +1,123 @@
 package net.sf.l2j.gameserver.data.cache;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import net.sf.l2j.commons.io.UnicodeReader;
 import net.sf.l2j.commons.logging.CLogger;
 
+import net.sf.l2j.Config;
+
 /**
  * A cache storing HTMs content.<br>
  * <br>
- * HTMs are loaded lazily, on request, then their {@link String} content can be retrieved using path hashcode.
+ * HTMs are stored by normalized path, under a {@link HtmTemplate} used by {@link net.sf.l2j.gameserver.network.serverpackets.NpcHtmlMessage} to fill placeholders and retrieve bypasses. The cache can be safely read and filled from any thread.<br>
+ * <br>
+ * HTMs are loaded lazily, on request, unless {@link Config#HTM_CACHE_PRELOAD} is set, in which case the whole HTML folder is loaded on startup using all cores. If {@link Config#HTM_CACHE_WATCH} is set, a daemon thread watches the HTML folder and reloads modified HTMs.
  */
 public class HtmCache
 {
 	private static final CLogger LOGGER = new CLogger(HtmCache.class.getName());
 	
-	private final Map<Integer, String> _htmCache = new HashMap<>();
+	private static final String HTML_FOLDER = "data/html";
+	
+	private final Map<String, HtmTemplate> _htmCache = new ConcurrentHashMap<>();
 	private final FileFilter _htmFilter = new HtmFilter();
 	
 	protected HtmCache()
 	{
+		if (Config.HTM_CACHE_PRELOAD)
+			preload();
+		
+		if (Config.HTM_CACHE_WATCH)
+			new HtmWatcher();
 	}
 	
 	/**
-	 * Cleans the HTM cache.
+	 * Cleans the HTM cache. HTMs are loaded back if preload is set.
 	 */
 	public void reload()
 	{
 		LOGGER.info("HtmCache has been cleared ({} entries).", _htmCache.size());
 		
 		_htmCache.clear();
+		
+		if (Config.HTM_CACHE_PRELOAD)
+			preload();
+	}
+	
+	/**
+	 * Load all HTMs of the HTML folder, in parallel.
+	 */
+	private void preload()
+	{
+		final long start = System.currentTimeMillis();
+		
+		final List<File> files;
+		try (Stream<Path> stream = Files.walk(Paths.get(HTML_FOLDER)))
+		{
+			files = stream.map(Path::toFile).filter(_htmFilter::accept).collect(Collectors.toList());
+		}
+		catch (IOException e)
+		{
+			LOGGER.error("Couldn't walk the HTML folder.", e);
+			return;
+		}
+		
+		final LongAdder bytes = new LongAdder();
+		final LongAdder chars = new LongAdder();
+		
+		files.parallelStream().forEach(file ->
+		{
+			final HtmTemplate template = loadFile(file);
+			if (template != null)
+			{
+				bytes.add(file.length());
+				chars.add(template.getLength());
+			}
+		});
+		
+		LOGGER.info("Loaded {} HTMs ({} KB on disk, {} KB of content) in {}ms.", _htmCache.size(), bytes.sum() / 1024, chars.sum() / 1024, System.currentTimeMillis() - start);
 	}
 	
 	/**
 	 * Loads and stores the HTM file content.
 	 * @param file : The file to be cached.
-	 * @return the content of the file under a {@link String}.
+	 * @return the content of the file under a {@link HtmTemplate}.
 	 */
-	private String loadFile(File file)
+	private HtmTemplate loadFile(File file)
 	{
 		try (FileInputStream fis = new FileInputStream(file);
-			UnicodeReader ur = new UnicodeReader(fis, "UTF-8");
-			BufferedReader br = new BufferedReader(ur))
+			UnicodeReader ur = new UnicodeReader(fis, "UTF-8"))
 		{
-			final StringBuilder sb = new StringBuilder();
+			final StringBuilder sb = new StringBuilder((int) file.length());
 			
-			String line;
-			while ((line = br.readLine()) != null)
-				sb.append(line).append('\n');
+			final char[] buffer = new char[8192];
+			int read;
+			while ((read = ur.read(buffer)) > 0)
+				sb.append(buffer, 0, read);
 			
-			final String content = sb.toString().replaceAll("\r\n", "\n");
+			final HtmTemplate template = new HtmTemplate(normalizeLines(sb), Config.HTM_CACHE_COMPACT);
 			
-			_htmCache.put(file.getPath().replace("\\", "/").hashCode(), content);
-			return content;
+			_htmCache.put(normalizePath(file.getPath()), template);
+			return template;
 		}
 		catch (Exception e)
 		{
@@ -72,11 +133,7 @@ public class HtmCache
 	 */
 	public boolean isLoadable(String path)
 	{
-		final File file = new File(path);
-		if (!_htmFilter.accept(file))
-			return false;
-		
-		return loadFile(file) != null;
+		return getTemplate(path) != null;
 	}
 	
 	/**
@@ -85,19 +142,30 @@ public class HtmCache
 	 * @return the {@link String} content if filename exists, otherwise returns null.
 	 */
 	public String getHtm(String path)
+	{
+		final HtmTemplate template = getTemplate(path);
+		return (template == null) ? null : template.getContent();
+	}
+	
+	/**
+	 * Returns the HTM {@link HtmTemplate} given by filename. Test the cache first, then try to load the file if unsuccessful.
+	 * @param path : The path to the HTM.
+	 * @return the HtmTemplate if filename exists, otherwise returns null.
+	 */
+	public HtmTemplate getTemplate(String path)
 	{
 		if (path == null || path.isEmpty())
 			return null;
 		
-		String content = _htmCache.get(path.hashCode());
-		if (content == null)
+		HtmTemplate template = _htmCache.get(normalizePath(path));
+		if (template == null)
 		{
 			final File file = new File(path);
 			if (_htmFilter.accept(file))
-				content = loadFile(file);
+				template = loadFile(file);
 		}
 		
-		return content;
+		return template;
 	}
 	
 	/**
@@ -117,6 +185,64 @@ public class HtmCache
 		return content;
 	}
 	
+	/**
+	 * Return {@link HtmTemplate} of html message given by filename. In case filename does not exist, returns notice.
+	 * @param path : The path to the HTM.
+	 * @return the HtmTemplate if filename exists, otherwise returns formatted default message.
+	 */
+	public HtmTemplate getTemplateForce(String path)
+	{
+		final HtmTemplate template = getTemplate(path);
+		if (template == null)
+		{
+			LOGGER.warn("Following HTM {} is missing.", path);
+			return new HtmTemplate("<html><body>My html is missing:<br>" + path + "</body></html>");
+		}
+		
+		return template;
+	}
+	
+	/**
+	 * @param path : The path to normalize.
+	 * @return the path using '/' separators, without leading "./", so a same HTM is always stored under the same key.
+	 */
+	private static String normalizePath(String path)
+	{
+		String normalized = path.replace('\\', '/');
+		while (normalized.startsWith("./"))
+			normalized = normalized.substring(2);
+		
+		return normalized;
+	}
+	
+	/**
+	 * @param sb : The content to normalize.
+	 * @return the content using '\n' line separators, each line (including the last one) ending with a separator.
+	 */
+	private static String normalizeLines(StringBuilder sb)
+	{
+		final StringBuilder result = new StringBuilder(sb.length() + 1);
+		for (int i = 0; i < sb.length(); i++)
+		{
+			final char c = sb.charAt(i);
+			if (c == '\r')
+			{
+				result.append('\n');
+				
+				// Skip the '\n' of a "\r\n" separator.
+				if (i + 1 < sb.length() && sb.charAt(i + 1) == '\n')
+					i++;
+			}
+			else
+				result.append(c);
+		}
+		
+		if (result.length() > 0 && result.charAt(result.length() - 1) != '\n')
+			result.append('\n');
+		
+		return result.toString();
+	}
+	
 	protected class HtmFilter implements FileFilter
 	{
 		@Override
@@ -126,6 +252,141 @@ public class HtmCache
 		}
 	}
 	
+	/**
+	 * A daemon thread watching the HTML folder and its subfolders. Modified HTMs already cached (or all of them, if preload is set) are reloaded, and deleted HTMs are dropped from the cache.
+	 */
+	private class HtmWatcher implements Runnable
+	{
+		private final Map<WatchKey, Path> _folders = new ConcurrentHashMap<>();
+		
+		private WatchService _service;
+		
+		public HtmWatcher()
+		{
+			try
+			{
+				_service = FileSystems.getDefault().newWatchService();
+				
+				register(Paths.get(HTML_FOLDER));
+			}
+			catch (IOException e)
+			{
+				LOGGER.error("Couldn't watch the HTML folder.", e);
+				return;
+			}
+			
+			LOGGER.info("Watching {} HTML folders for changes.", _folders.size());
+			
+			final Thread t = new Thread(this);
+			t.setName(getClass().getSimpleName());
+			t.setDaemon(true);
+			t.start();
+		}
+		
+		@Override
+		public void run()
+		{
+			while (true)
+			{
+				final WatchKey key;
+				try
+				{
+					key = _service.take();
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+				
+				final Path folder = _folders.get(key);
+				if (folder != null)
+				{
+					for (WatchEvent<?> event : key.pollEvents())
+					{
+						try
+						{
+							onEvent(folder, event);
+						}
+						catch (Exception e)
+						{
+							LOGGER.error("Couldn't handle HTML folder change {}.", e, event.context());
+						}
+					}
+				}
+				
+				// The folder is no longer accessible, stop to watch it.
+				if (!key.reset())
+					_folders.remove(key);
+			}
+		}
+		
+		private void onEvent(Path folder, WatchEvent<?> event) throws IOException
+		{
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+			{
+				LOGGER.warn("Too many HTML changes at once, some HTMs may be outdated. Reload the HTM cache to refresh them.");
+				return;
+			}
+			
+			final Path path = folder.resolve((Path) event.context());
+			final String key = normalizePath(path.toString());
+			
+			if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE)
+			{
+				if (_htmCache.remove(key) != null)
+					LOGGER.info("Dropped deleted HTM {}.", key);
+				
+				return;
+			}
+			
+			// A new folder ; watch it, and load its HTMs if preload is set.
+			if (Files.isDirectory(path))
+			{
+				if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE)
+				{
+					register(path);
+					
+					if (Config.HTM_CACHE_PRELOAD)
+					{
+						try (Stream<Path> stream = Files.walk(path))
+						{
+							stream.map(Path::toFile).filter(_htmFilter::accept).forEach(HtmCache.this::loadFile);
+						}
+					}
+				}
+				return;
+			}
+			
+			final File file = path.toFile();
+			if (!_htmFilter.accept(file))
+				return;
+			
+			// HTMs not yet requested are loaded on request, unless preload is set.
+			if (!Config.HTM_CACHE_PRELOAD && !_htmCache.containsKey(key))
+				return;
+			
+			if (loadFile(file) != null)
+				LOGGER.info("Reloaded modified HTM {}.", key);
+		}
+		
+		/**
+		 * Watch a folder and all its subfolders.
+		 * @param root : The folder to watch.
+		 * @throws IOException if a folder can't be watched.
+		 */
+		private void register(Path root) throws IOException
+		{
+			final List<Path> folders = new ArrayList<>();
+			try (Stream<Path> stream = Files.walk(root))
+			{
+				stream.filter(Files::isDirectory).forEach(folders::add);
+			}
+			
+			for (Path folder : folders)
+				_folders.put(folder.register(_service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), folder);
+		}
+	}
+	
 	public static HtmCache getInstance()
 	{
 		return SingletonHolder.INSTANCE;
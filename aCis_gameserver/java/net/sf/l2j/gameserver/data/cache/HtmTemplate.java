@@ -0,0 +1,258 @@
+package net.sf.l2j.gameserver.data.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A HTM content parsed once into a template.<br>
+ * <br>
+ * The content is split on its %placeholder% slots, so it can be rendered into a single {@link StringBuilder} with slot values. Bypasses are located once, and can be retrieved for given slot values without scanning the rendered content.<br>
+ * <br>
+ * A placeholder which could also be matched overlapping another one (such as %b% in "%a%b%") isn't considered as a slot, as its replacement would depend on replacement order.<br>
+ * <br>
+ * A compact template doesn't keep its raw content, which is rebuilt from parts and slots on request.
+ */
+public final class HtmTemplate
+{
+	private final String _content;
+	
+	// Literal parts, surrounding slots : parts[0] slots[0] parts[1] slots[1] ... parts[n].
+	private final String[] _parts;
+	private final String[] _slots;
+	
+	private final Set<String> _slotNames;
+	
+	// Bypasses, parsed as templates from the command to the closing quote.
+	private final List<HtmTemplate> _bypasses;
+	
+	public HtmTemplate(String content)
+	{
+		this(content, false, true);
+	}
+	
+	public HtmTemplate(String content, boolean compact)
+	{
+		this(content, compact, true);
+	}
+	
+	private HtmTemplate(String content, boolean compact, boolean parseBypasses)
+	{
+		_content = (compact) ? null : content;
+		
+		final List<String> parts = new ArrayList<>();
+		final List<String> slots = new ArrayList<>();
+		final Set<String> ambiguousSlots = new HashSet<>();
+		
+		int partStart = 0;
+		int i = 0;
+		while ((i = content.indexOf('%', i)) >= 0)
+		{
+			final int end = getSlotEnd(content, i);
+			if (end < 0)
+			{
+				i++;
+				continue;
+			}
+			
+			final String slot = content.substring(i, end + 1);
+			
+			// The closing '%' could also open another placeholder ; both are ambiguous.
+			final int nextEnd = getSlotEnd(content, end);
+			if (nextEnd >= 0)
+			{
+				ambiguousSlots.add(slot);
+				ambiguousSlots.add(content.substring(end, nextEnd + 1));
+			}
+			
+			parts.add(content.substring(partStart, i));
+			slots.add(slot);
+			
+			partStart = i = end + 1;
+		}
+		parts.add(content.substring(partStart));
+		
+		_parts = parts.toArray(new String[parts.size()]);
+		_slots = slots.toArray(new String[slots.size()]);
+		
+		final Set<String> slotNames = new HashSet<>(slots);
+		slotNames.removeAll(ambiguousSlots);
+		_slotNames = slotNames;
+		
+		_bypasses = (parseBypasses) ? parseBypasses(content) : Collections.emptyList();
+	}
+	
+	/**
+	 * @return the raw content of this template.
+	 */
+	public String getContent()
+	{
+		if (_content != null)
+			return _content;
+		
+		final StringBuilder sb = new StringBuilder(getLength());
+		for (int i = 0; i < _slots.length; i++)
+			sb.append(_parts[i]).append(_slots[i]);
+		sb.append(_parts[_slots.length]);
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * @return the length of the raw content of this template.
+	 */
+	public int getLength()
+	{
+		if (_content != null)
+			return _content.length();
+		
+		int length = 0;
+		for (String part : _parts)
+			length += part.length();
+		for (String slot : _slots)
+			length += slot.length();
+		
+		return length;
+	}
+	
+	/**
+	 * @return true if this template doesn't keep its raw content.
+	 */
+	public boolean isCompact()
+	{
+		return _content == null;
+	}
+	
+	/**
+	 * @param pattern : The pattern to test, such as "%objectId%".
+	 * @return true if the pattern is a slot of this template, which can be filled regardless of replacement order.
+	 */
+	public boolean hasSlot(String pattern)
+	{
+		return _slotNames.contains(pattern);
+	}
+	
+	/**
+	 * Render this template, filling slots with given values. Slots without value are kept as written.
+	 * @param values : The slot values, by pattern.
+	 * @return the rendered content.
+	 */
+	public String render(Map<String, String> values)
+	{
+		if (values.isEmpty() || _slots.length == 0)
+			return getContent();
+		
+		final StringBuilder sb = new StringBuilder(getLength() + 16 * values.size());
+		for (int i = 0; i < _slots.length; i++)
+		{
+			sb.append(_parts[i]);
+			
+			final String value = values.get(_slots[i]);
+			sb.append((value == null) ? _slots[i] : value);
+		}
+		sb.append(_parts[_slots.length]);
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Render bypasses of this template, filling slots with given values. Values must contain neither quotes nor "bypass", otherwise bypasses must be searched on rendered content.
+	 * @param values : The slot values, by pattern.
+	 * @param bypasses : The List filled with regular bypasses.
+	 * @param bypasses2 : The List filled with bypasses ending with a '$' parameter.
+	 */
+	public void renderBypasses(Map<String, String> values, List<String> bypasses, List<String> bypasses2)
+	{
+		for (HtmTemplate template : _bypasses)
+			addBypass(template.render(values), bypasses, bypasses2);
+	}
+	
+	/**
+	 * Search bypasses on a rendered HTM content.
+	 * @param html : The content to search on.
+	 * @param bypasses : The List filled with regular bypasses.
+	 * @param bypasses2 : The List filled with bypasses ending with a '$' parameter.
+	 */
+	public static void findBypasses(String html, List<String> bypasses, List<String> bypasses2)
+	{
+		for (int i = 0; i < html.length(); i++)
+		{
+			final int start = html.indexOf("\"bypass ", i);
+			final int finish = html.indexOf("\"", start + 1);
+			if (start < 0 || finish < 0)
+				break;
+			
+			i = finish;
+			
+			addBypass(html.substring(start + 8, finish), bypasses, bypasses2);
+		}
+	}
+	
+	/**
+	 * @param value : The value to test.
+	 * @return true if the value can't modify bypasses location once rendered.
+	 */
+	public static boolean isBypassSafe(String value)
+	{
+		return value.indexOf('"') < 0 && !value.contains("bypass");
+	}
+	
+	/**
+	 * Add a bypass command, as written between "bypass and the closing quote, to the matching List.
+	 * @param command : The command, including the optional -h parameter.
+	 * @param bypasses : The List filled with regular bypasses.
+	 * @param bypasses2 : The List filled with bypasses ending with a '$' parameter.
+	 */
+	private static void addBypass(String command, List<String> bypasses, List<String> bypasses2)
+	{
+		final int start = (command.startsWith("-h")) ? Math.min(3, command.length()) : 0;
+		
+		final int finish2 = command.indexOf('$', start);
+		if (finish2 >= 0)
+			bypasses2.add(command.substring(start, finish2).trim());
+		else
+			bypasses.add(command.substring(start).trim());
+	}
+	
+	private static List<HtmTemplate> parseBypasses(String content)
+	{
+		final List<HtmTemplate> bypasses = new ArrayList<>();
+		for (int i = 0; i < content.length(); i++)
+		{
+			final int start = content.indexOf("\"bypass ", i);
+			final int finish = content.indexOf("\"", start + 1);
+			if (start < 0 || finish < 0)
+				break;
+			
+			i = finish;
+			
+			bypasses.add(new HtmTemplate(content.substring(start + 8, finish), false, false));
+		}
+		return bypasses;
+	}
+	
+	/**
+	 * @param content : The content to search on.
+	 * @param start : The index of the opening '%'.
+	 * @return the index of the closing '%' of a %placeholder% starting at the given index, or -1 if none.
+	 */
+	private static int getSlotEnd(String content, int start)
+	{
+		int i = start + 1;
+		while (i < content.length())
+		{
+			final char c = content.charAt(i);
+			if (c == '%')
+				return (i > start + 1) ? i : -1;
+			
+			if (!Character.isLetterOrDigit(c) && c != '_')
+				return -1;
+			
+			i++;
+		}
+		return -1;
+	}
+}
\ No newline at end of file
@@ -1,6 +1,5 @@
 package net.sf.l2j.gameserver.data.manager;
 
-import java.lang.reflect.Constructor;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -99,9 +98,7 @@ public class DerbyTrackManager
 				if (template == null)
 					continue;
 				
-				final Constructor<?> constructor = Class.forName("net.sf.l2j.gameserver.model.actor.instance." + template.getType()).getConstructors()[0];
-				
-				_runners.add((Npc) constructor.newInstance(IdFactory.getInstance().getNextId(), template));
+				_runners.add(template.newInstance(IdFactory.getInstance().getNextId()));
 			}
 		}
 		catch (Exception e)
@@ -3,8 +3,9 @@ package net.sf.l2j.gameserver.data.sql;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.l2j.commons.logging.CLogger;
@@ -17,6 +18,9 @@ import net.sf.l2j.gameserver.model.actor.Player;
  * <p>
  * It is notably used for any offline character check, such as friendlist, existing character name, etc.
  * </p>
+ * <p>
+ * Case-insensitive player name and account name indexes are maintained alongside, so lookups by name or by account don't scan all entries.
+ * </p>
  */
 public final class PlayerInfoTable
 {
@@ -26,6 +30,10 @@ public final class PlayerInfoTable
 	
 	private final Map<Integer, PlayerInfo> _infos = new ConcurrentHashMap<>();
 	
+	// Indexes, by lowercase player name and account name.
+	private final Map<String, Integer> _names = new ConcurrentHashMap<>();
+	private final Map<String, Set<Integer>> _accounts = new ConcurrentHashMap<>();
+	
 	protected PlayerInfoTable()
 	{
 		try (Connection con = ConnectionPool.getConnection();
@@ -33,7 +41,7 @@ public final class PlayerInfoTable
 			ResultSet rs = ps.executeQuery())
 		{
 			while (rs.next())
-				_infos.put(rs.getInt("obj_Id"), new PlayerInfo(rs.getString("account_name"), rs.getString("char_name"), rs.getInt("accesslevel")));
+				addPlayer(rs.getInt("obj_Id"), rs.getString("account_name"), rs.getString("char_name"), rs.getInt("accesslevel"));
 		}
 		catch (Exception e)
 		{
@@ -50,9 +58,13 @@ public final class PlayerInfoTable
 	 * @param playerName : The player's name.
 	 * @param accessLevel : The player's access level.
 	 */
-	public final void addPlayer(int objectId, String accountName, String playerName, int accessLevel)
+	public final synchronized void addPlayer(int objectId, String accountName, String playerName, int accessLevel)
 	{
-		_infos.putIfAbsent(objectId, new PlayerInfo(accountName, playerName, accessLevel));
+		if (_infos.putIfAbsent(objectId, new PlayerInfo(accountName, playerName, accessLevel)) != null)
+			return;
+		
+		_names.put(normalize(playerName), objectId);
+		_accounts.computeIfAbsent(normalize(accountName), k -> ConcurrentHashMap.newKeySet()).add(objectId);
 	}
 	
 	/**
@@ -60,7 +72,7 @@ public final class PlayerInfoTable
 	 * @param player : The player to update.
 	 * @param onlyAccessLevel : If true, it will update the access level, otherwise, it will update the player name.
 	 */
-	public final void updatePlayerData(Player player, boolean onlyAccessLevel)
+	public final synchronized void updatePlayerData(Player player, boolean onlyAccessLevel)
 	{
 		if (player == null)
 			return;
@@ -74,7 +86,12 @@ public final class PlayerInfoTable
 			{
 				final String playerName = player.getName();
 				if (!data.getPlayerName().equalsIgnoreCase(playerName))
+				{
+					_names.remove(normalize(data.getPlayerName()), player.getObjectId());
+					_names.put(normalize(playerName), player.getObjectId());
+					
 					data.setPlayerName(playerName);
+				}
 			}
 		}
 	}
@@ -83,10 +100,21 @@ public final class PlayerInfoTable
 	 * Remove a {@link Player} entry.
 	 * @param objId : The objectId to check.
 	 */
-	public final void removePlayer(int objId)
+	public final synchronized void removePlayer(int objId)
 	{
-		if (_infos.containsKey(objId))
-			_infos.remove(objId);
+		final PlayerInfo data = _infos.remove(objId);
+		if (data == null)
+			return;
+		
+		_names.remove(normalize(data.getPlayerName()), objId);
+		
+		final Set<Integer> objectIds = _accounts.get(normalize(data.getAccountName()));
+		if (objectIds != null)
+		{
+			objectIds.remove(objId);
+			if (objectIds.isEmpty())
+				_accounts.remove(normalize(data.getAccountName()));
+		}
 	}
 	
 	/**
@@ -99,7 +127,7 @@ public final class PlayerInfoTable
 		if (playerName == null || playerName.isEmpty())
 			return -1;
 		
-		return _infos.entrySet().stream().filter(m -> m.getValue().getPlayerName().equalsIgnoreCase(playerName)).map(Entry::getKey).findFirst().orElse(-1);
+		return _names.getOrDefault(normalize(playerName), -1);
 	}
 	
 	/**
@@ -131,7 +159,20 @@ public final class PlayerInfoTable
 	 */
 	public final int getCharactersInAcc(String accountName)
 	{
-		return (int) _infos.entrySet().stream().filter(m -> m.getValue().getAccountName().equalsIgnoreCase(accountName)).count();
+		if (accountName == null)
+			return 0;
+		
+		final Set<Integer> objectIds = _accounts.get(normalize(accountName));
+		return (objectIds != null) ? objectIds.size() : 0;
+	}
+	
+	/**
+	 * @param name : The player or account name to normalize.
+	 * @return the key used by name indexes.
+	 */
+	private static String normalize(String name)
+	{
+		return name.toLowerCase(Locale.ROOT);
 	}
 	
 	/**
@@ -1,11 +1,15 @@
 package net.sf.l2j.gameserver.data.xml;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -15,6 +19,7 @@ import net.sf.l2j.commons.data.xml.IXmlReader;
 import net.sf.l2j.gameserver.data.SkillTable;
 import net.sf.l2j.gameserver.model.MinionData;
 import net.sf.l2j.gameserver.model.PetDataEntry;
+import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.actor.template.NpcTemplate;
 import net.sf.l2j.gameserver.model.actor.template.PetTemplate;
 import net.sf.l2j.gameserver.model.item.DropCategory;
@@ -29,8 +34,15 @@ import org.w3c.dom.NamedNodeMap;
  */
 public class NpcData implements IXmlReader
 {
+	private static final String INSTANCE_PACKAGE = "net.sf.l2j.gameserver.model.actor.instance.";
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, int.class, NpcTemplate.class);
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Npc.class, int.class, NpcTemplate.class);
+	
 	private final Map<Integer, NpcTemplate> _npcs = new HashMap<>();
 	
+	// The Npc constructors, resolved once per instance type.
+	private final Map<String, Optional<MethodHandle>> _constructors = new HashMap<>();
+	
 	protected NpcData()
 	{
 		load();
@@ -41,6 +53,37 @@ public class NpcData implements IXmlReader
 	{
 		parseFile("./data/xml/npcs");
 		LOGGER.info("Loaded {} NPC templates.", _npcs.size());
+		
+		// Resolve constructors once per instance type, and link them to templates.
+		for (NpcTemplate template : _npcs.values())
+			template.setConstructor(_constructors.computeIfAbsent(template.getType(), this::findConstructor).orElse(null));
+		
+		LOGGER.info("Resolved {} NPC instance types.", _constructors.size());
+	}
+	
+	/**
+	 * @param type : The instance type, as written on {@link NpcTemplate}.
+	 * @return the (int, NpcTemplate)Npc constructor of the given instance type, or an empty Optional if it doesn't exist (such as Pet).
+	 */
+	private Optional<MethodHandle> findConstructor(String type)
+	{
+		try
+		{
+			final Class<?> instanceClass = Class.forName(INSTANCE_PACKAGE + type);
+			if (!Npc.class.isAssignableFrom(instanceClass))
+				return Optional.empty();
+			
+			return Optional.of(MethodHandles.publicLookup().findConstructor(instanceClass, CONSTRUCTOR_TYPE).asType(FACTORY_TYPE));
+		}
+		catch (ClassNotFoundException e)
+		{
+			LOGGER.warn("Unknown NPC instance type {}.", type);
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			// Instance types using a dedicated constructor (such as Pet) can't be spawned using templates.
+		}
+		return Optional.empty();
 	}
 	
 	@Override
@@ -169,6 +212,7 @@ public class NpcData implements IXmlReader
 	public void reload()
 	{
 		_npcs.clear();
+		_constructors.clear();
 		
 		load();
 	}
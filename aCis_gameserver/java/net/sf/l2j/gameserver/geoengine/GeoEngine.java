@@ -12,6 +12,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.sf.l2j.commons.config.ExProperties;
 import net.sf.l2j.commons.lang.StringUtil;
@@ -32,6 +36,7 @@ import net.sf.l2j.gameserver.geoengine.geodata.GeoStructure;
 import net.sf.l2j.gameserver.geoengine.geodata.IBlockDynamic;
 import net.sf.l2j.gameserver.geoengine.geodata.IGeoObject;
 import net.sf.l2j.gameserver.geoengine.pathfinding.NodeBuffer;
+import net.sf.l2j.gameserver.geoengine.pathfinding.PathCache;
 import net.sf.l2j.gameserver.model.World;
 import net.sf.l2j.gameserver.model.WorldObject;
 import net.sf.l2j.gameserver.model.actor.Creature;
@@ -53,6 +58,9 @@ public class GeoEngine
 	// pre-allocated buffers
 	private BufferHolder[] _buffers;
 	
+	// path cache, null if disabled
+	private final PathCache _pathCache;
+	
 	// pathfinding statistics
 	private int _findSuccess = 0;
 	private int _findFails = 0;
@@ -142,49 +150,52 @@ public class GeoEngine
 		}
 		
 		LOGGER.info("Loaded {} node buffers.", count);
+		
+		_pathCache = (Config.PATH_CACHE_SIZE > 0) ? new PathCache(Config.PATH_CACHE_SIZE) : null;
 	}
 	
 	/**
-	 * Provides optimize selection of the buffer. When all pre-initialized buffer are locked, creates new buffer and log this situation.
+	 * Provides optimize selection of the buffer. When all pre-initialized buffers of fitting size are in use, creates new buffer and log this situation.
 	 * @param size : pre-calculated minimal required size
 	 * @param playable : moving object is playable?
-	 * @return NodeBuffer : buffer
+	 * @return NodeBuffer : buffer, or null if no holder fits the size.
 	 */
 	private final NodeBuffer getBuffer(int size, boolean playable)
 	{
-		NodeBuffer current = null;
+		BufferHolder fitting = null;
 		for (BufferHolder holder : _buffers)
 		{
 			// Find proper size of buffer
 			if (holder._size < size)
 				continue;
 			
-			// Find unlocked NodeBuffer
-			for (NodeBuffer buffer : holder._buffer)
-			{
-				if (!buffer.isLocked())
-					continue;
-				
-				holder._uses++;
-				if (playable)
-					holder._playableUses++;
-				
-				holder._elapsed += buffer.getElapsedTime();
-				return buffer;
-			}
-			
-			LOGGER.warn("Creating new NodeBuffer {} size, as no buffer empty or out of size.", size);
-			
-			// NodeBuffer not found, allocate temporary buffer
-			current = new NodeBuffer(holder._size);
-			current.isLocked();
+			if (fitting == null)
+				fitting = holder;
 			
-			holder._overflows++;
-			if (playable)
-				holder._playableOverflows++;
+			// Find free NodeBuffer, falling back on larger holders.
+			final NodeBuffer buffer = holder.poll(playable);
+			if (buffer != null)
+				return buffer;
 		}
 		
-		return current;
+		// NodeBuffer not found, allocate temporary buffer from the smallest fitting holder.
+		return (fitting == null) ? null : fitting.create(playable);
+	}
+	
+	/**
+	 * Give back a NodeBuffer to the holder of its size.
+	 * @param buffer : The NodeBuffer to release.
+	 */
+	private final void releaseBuffer(NodeBuffer buffer)
+	{
+		for (BufferHolder holder : _buffers)
+		{
+			if (holder._size == buffer.getSize())
+			{
+				holder.release(buffer);
+				return;
+			}
+		}
 	}
 	
 	/**
@@ -539,6 +550,10 @@ public class GeoEngine
 		int minBY = minGY / GeoStructure.BLOCK_CELLS_Y;
 		int maxBY = (minGY + geoData[0].length - 1) / GeoStructure.BLOCK_CELLS_Y;
 		
+		// drop cached paths crossing affected blocks before the change too, so no such path is served while blocks are being modified
+		if (_pathCache != null)
+			_pathCache.invalidate(minBX, maxBX, minBY, maxBY);
+		
 		// loop over affected blocks in X direction
 		for (int bx = minBX; bx <= maxBX; bx++)
 		{
@@ -589,6 +604,10 @@ public class GeoEngine
 					((IBlockDynamic) block).removeGeoObject(object);
 			}
 		}
+		
+		// drop cached paths crossing affected blocks again, rejecting paths calculated meanwhile
+		if (_pathCache != null)
+			_pathCache.invalidate(minBX, maxBX, minBY, maxBY);
 	}
 	
 	/**
@@ -1787,6 +1806,10 @@ public class GeoEngine
 		if (World.isOutOfWorld(tx, ty))
 			return Collections.emptyList();
 		
+		// use cached path, if any (debug always calculates the path) ; the generation is retrieved before reading any geodata
+		final boolean useCache = _pathCache != null && debug == null;
+		final long generation = (useCache) ? _pathCache.getGeneration() : 0;
+		
 		// get origin and check existing geo coords
 		int gox = getGeoX(ox);
 		int goy = getGeoY(oy);
@@ -1803,45 +1826,55 @@ public class GeoEngine
 		
 		int gtz = getHeightNearest(gtx, gty, tz);
 		
-		// Prepare buffer for pathfinding calculations
-		NodeBuffer buffer = getBuffer(300 + (10 * (Math.abs(gox - gtx) + Math.abs(goy - gty) + Math.abs(goz - gtz))), playable);
-		if (buffer == null)
-			return Collections.emptyList();
-		
-		// find path
-		List<Location> path = null;
-		try
+		// use the cached raw path, if any ; the post-filter depends on the exact origin, not only on its geo cell, so it always runs
+		List<Location> path = (useCache) ? _pathCache.get(gox, goy, goz, gtx, gty, gtz) : null;
+		if (path == null)
 		{
-			path = buffer.findPath(gox, goy, goz, gtx, gty, gtz);
+			final long start = System.nanoTime();
+			
+			// Prepare buffer for pathfinding calculations
+			final NodeBuffer buffer = getBuffer(300 + (10 * (Math.abs(gox - gtx) + Math.abs(goy - gty) + Math.abs(goz - gtz))), playable);
+			if (buffer == null)
+				return Collections.emptyList();
 			
-			if (path.isEmpty())
+			// find path
+			try
 			{
+				path = buffer.findPath(gox, goy, goz, gtx, gty, gtz);
+				
+				if (path.isEmpty())
+				{
+					_findFails++;
+					return Collections.emptyList();
+				}
+				
+				if (debug != null)
+				{
+					// path origin and target
+					debug.addPoint(Color.BLUE, ox, oy, oz);
+					debug.addPoint(Color.BLUE, tx, ty, tz);
+					
+					// path
+					buffer.debugPath(debug);
+				}
+				
+				_findSuccess++;
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Failed to generate a path.", e);
+				
 				_findFails++;
 				return Collections.emptyList();
 			}
-			
-			if (debug != null)
+			finally
 			{
-				// path origin and target
-				debug.addPoint(Color.BLUE, ox, oy, oz);
-				debug.addPoint(Color.BLUE, tx, ty, tz);
-				
-				// path
-				buffer.debugPath(debug);
+				buffer.free();
+				releaseBuffer(buffer);
 			}
 			
-			_findSuccess++;
-		}
-		catch (Exception e)
-		{
-			LOGGER.error("Failed to generate a path.", e);
-			
-			_findFails++;
-			return Collections.emptyList();
-		}
-		finally
-		{
-			buffer.free();
+			if (useCache)
+				_pathCache.put(gox, goy, goz, gtx, gty, gtz, path, System.nanoTime() - start, generation);
 		}
 		
 		// check path
@@ -1938,6 +1971,9 @@ public class GeoEngine
 		
 		list.add("Pathfind: success=" + _findSuccess + ", fail=" + _findFails);
 		
+		if (_pathCache != null)
+			list.add(_pathCache.getStat());
+		
 		return list;
 	}
 	
@@ -1972,29 +2008,89 @@ public class GeoEngine
 	}
 	
 	/**
-	 * NodeBuffer container with specified size and count of separate buffers.
+	 * NodeBuffer container with specified size and count of separate buffers. Free buffers are kept in a lock-free queue.<br>
+	 * When all buffers are in use, a temporary buffer is created. Released buffers are only kept up to the configured count, so the holder never grows past it.
 	 */
 	private static final class BufferHolder
 	{
 		final int _size;
 		final int _count;
-		ArrayList<NodeBuffer> _buffer;
+		final Queue<NodeBuffer> _buffer = new ConcurrentLinkedQueue<>();
+		final AtomicInteger _free = new AtomicInteger();
 		
 		// statistics
-		int _playableUses = 0;
-		int _uses = 0;
-		int _playableOverflows = 0;
-		int _overflows = 0;
-		long _elapsed = 0;
+		final AtomicInteger _playableUses = new AtomicInteger();
+		final AtomicInteger _uses = new AtomicInteger();
+		final AtomicInteger _playableOverflows = new AtomicInteger();
+		final AtomicInteger _overflows = new AtomicInteger();
+		final AtomicInteger _drops = new AtomicInteger();
+		final AtomicLong _elapsed = new AtomicLong();
 		
 		public BufferHolder(int size, int count)
 		{
 			_size = size;
 			_count = count;
-			_buffer = new ArrayList<>(count);
 			
 			for (int i = 0; i < count; i++)
 				_buffer.add(new NodeBuffer(size));
+			
+			_free.set(count);
+		}
+		
+		/**
+		 * @param playable : moving object is playable?
+		 * @return a free NodeBuffer, or null if all buffers are in use.
+		 */
+		public NodeBuffer poll(boolean playable)
+		{
+			final NodeBuffer buffer = _buffer.poll();
+			if (buffer == null)
+				return null;
+			
+			_free.decrementAndGet();
+			
+			_uses.incrementAndGet();
+			if (playable)
+				_playableUses.incrementAndGet();
+			
+			return buffer;
+		}
+		
+		/**
+		 * @param playable : moving object is playable?
+		 * @return a new temporary NodeBuffer, used when all buffers are in use.
+		 */
+		public NodeBuffer create(boolean playable)
+		{
+			LOGGER.warn("Creating new NodeBuffer {} size, as no buffer is free.", _size);
+			
+			_uses.incrementAndGet();
+			_overflows.incrementAndGet();
+			if (playable)
+			{
+				_playableUses.incrementAndGet();
+				_playableOverflows.incrementAndGet();
+			}
+			
+			return new NodeBuffer(_size);
+		}
+		
+		/**
+		 * Give back a NodeBuffer, previously freed. The buffer is dropped if the holder already keeps its configured count of free buffers.
+		 * @param buffer : The NodeBuffer to release.
+		 */
+		public void release(NodeBuffer buffer)
+		{
+			_elapsed.addAndGet(buffer.getElapsedTime());
+			
+			if (_free.incrementAndGet() > _count)
+			{
+				_free.decrementAndGet();
+				_drops.incrementAndGet();
+				return;
+			}
+			
+			_buffer.add(buffer);
 		}
 		
 		@Override
@@ -2002,12 +2098,15 @@ public class GeoEngine
 		{
 			final StringBuilder sb = new StringBuilder(100);
 			
-			StringUtil.append(sb, "Buffer ", String.valueOf(_size), "x", String.valueOf(_size), ": count=", String.valueOf(_count), " uses=", String.valueOf(_playableUses), "/", String.valueOf(_uses));
+			final int uses = _uses.get();
+			final long elapsed = _elapsed.get();
+			
+			StringUtil.append(sb, "Buffer ", String.valueOf(_size), "x", String.valueOf(_size), ": count=", String.valueOf(_count), " uses=", String.valueOf(_playableUses.get()), "/", String.valueOf(uses));
 			
-			if (_uses > 0)
-				StringUtil.append(sb, " total/avg(ms)=", String.valueOf(_elapsed), "/", String.format("%1.2f", (double) _elapsed / _uses));
+			if (uses > 0)
+				StringUtil.append(sb, " total/avg(ms)=", String.valueOf(elapsed), "/", String.format("%1.2f", (double) elapsed / uses));
 			
-			StringUtil.append(sb, " ovf=", String.valueOf(_playableOverflows), "/", String.valueOf(_overflows));
+			StringUtil.append(sb, " ovf=", String.valueOf(_playableOverflows.get()), "/", String.valueOf(_overflows.get()), " drops=", String.valueOf(_drops.get()));
 			
 			return sb.toString();
 		}
@@ -1,12 +1,9 @@
 package net.sf.l2j.gameserver.geoengine.pathfinding;
 
 import java.awt.Color;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.concurrent.locks.ReentrantLock;
 
 import net.sf.l2j.Config;
 import net.sf.l2j.gameserver.geoengine.GeoEngine;
@@ -15,18 +12,38 @@ import net.sf.l2j.gameserver.geoengine.geodata.GeoStructure;
 import net.sf.l2j.gameserver.model.location.Location;
 import net.sf.l2j.gameserver.network.serverpackets.ExServerPrimitive;
 
+/**
+ * A reusable pathfinding buffer. Nodes are stored as primitive arrays and referenced by their index, so a path search doesn't allocate any object (except the resulting path).<br>
+ * <br>
+ * A NodeBuffer isn't thread-safe ; it must be used by a single thread at once (see GeoEngine buffer pools).
+ */
 public class NodeBuffer
 {
-	// Locking NodeBuffer to ensure thread-safe operations.
-	private final ReentrantLock _lock = new ReentrantLock();
+	private static final int NO_PARENT = -1;
 	
-	// Container holding all available Nodes to be used.
-	private final Node[] _buffer;
-	private int _bufferIndex;
-	// Container (binary-heap) holding Nodes to be explored.
-	private PriorityQueue<Node> _opened;
-	// Container holding Nodes already explored.
-	private final List<Node> _closed;
+	// Total amount of available nodes.
+	private final int _size;
+	
+	// Node values, indexed by node index.
+	private final int[] _geoX;
+	private final int[] _geoY;
+	private final int[] _geoZ;
+	private final byte[] _nswe;
+	private final int[] _costG;
+	private final int[] _costF;
+	private final int[] _parent;
+	private final boolean[] _closed;
+	private int _nodeCount;
+	
+	// Opened nodes, as a binary heap of node indexes ordered by cost F.
+	private final int[] _heap;
+	private int _heapSize;
+	
+	// Open addressing hash set of known nodes geo coordinates. Slots are valid only when matching current generation.
+	private final long[] _keys;
+	private final int[] _generations;
+	private final int _mask;
+	private int _generation = 1;
 	
 	// Target coordinates.
 	private int _gtx;
@@ -37,26 +54,40 @@ public class NodeBuffer
 	private long _timeStamp;
 	private long _lastElapsedTime;
 	
-	private Node _current;
+	private int _current;
 	
 	/**
 	 * Constructor of NodeBuffer.
-	 * @param size : The total size buffer. Determines the amount of {@link Node}s to be used for pathfinding.
+	 * @param size : The total size buffer. Determines the amount of nodes to be used for pathfinding.
 	 */
 	public NodeBuffer(int size)
 	{
-		// Create buffers based on given size.
-		_buffer = new Node[size];
-		_opened = new PriorityQueue<>(size);
-		_closed = new ArrayList<>(size);
-		
-		// Create Nodes.
-		for (int i = 0; i < size; i++)
-			_buffer[i] = new Node();
+		_size = size;
+		
+		// Create node arrays.
+		_geoX = new int[size];
+		_geoY = new int[size];
+		_geoZ = new int[size];
+		_nswe = new byte[size];
+		_costG = new int[size];
+		_costF = new int[size];
+		_parent = new int[size];
+		_closed = new boolean[size];
+		
+		_heap = new int[size];
+		
+		// Create hash set, with a load factor of 0.5 at most.
+		int capacity = 1;
+		while (capacity < size * 2)
+			capacity <<= 1;
+		
+		_keys = new long[capacity];
+		_generations = new int[capacity];
+		_mask = capacity - 1;
 	}
 	
 	/**
-	 * Find path consisting of Nodes. Starts at origin coordinates, ends in target coordinates.
+	 * Find path consisting of nodes. Starts at origin coordinates, ends in target coordinates.
 	 * @param gox : origin point x
 	 * @param goy : origin point y
 	 * @param goz : origin point z
@@ -75,30 +106,26 @@ public class NodeBuffer
 		_gty = gty;
 		_gtz = gtz;
 		
-		// Get node from buffer.
-		_current = _buffer[_bufferIndex++];
-		
-		// Set node geodata coordinates and movement cost.
-		_current.setGeo(gox, goy, goz, GeoEngine.getInstance().getNsweNearest(gox, goy, goz));
-		_current.setCost(null, 0, getCostH(gox, goy, goz));
+		// Create origin node.
+		_current = createNode(gox, goy, goz, GeoEngine.getInstance().getNsweNearest(gox, goy, goz), NO_PARENT, 0);
 		
 		int count = 0;
 		do
 		{
 			// Move node to closed list.
-			_closed.add(_current);
+			_closed[_current] = true;
 			
 			// Target reached, calculate path and return.
-			if (_current.getGeoX() == _gtx && _current.getGeoY() == _gty && _current.getZ() == _gtz)
+			if (_geoX[_current] == _gtx && _geoY[_current] == _gty && _geoZ[_current] == _gtz)
 				return constructPath();
 			
 			// Expand current node.
 			expand();
 			
 			// Get next node to expand.
-			_current = _opened.poll();
+			_current = poll();
 		}
-		while (_current != null && _bufferIndex < _buffer.length && ++count < Config.MAX_ITERATIONS);
+		while (_current != NO_PARENT && _nodeCount < _size && ++count < Config.MAX_ITERATIONS);
 		
 		// Iteration failed, return empty path.
 		return Collections.emptyList();
@@ -106,7 +133,7 @@ public class NodeBuffer
 	
 	/**
 	 * Build the path from subsequent nodes. Skip nodes in straight directions, keep only corner nodes.
-	 * @return List of {@link Node}s representing the path.
+	 * @return List of {@link Location}s representing the path.
 	 */
 	private List<Location> constructPath()
 	{
@@ -118,20 +145,21 @@ public class NodeBuffer
 		int dy = 0;
 		
 		// Get parent node.
-		Node parent = _current.getParent();
+		int current = _current;
+		int parent = _parent[current];
 		
 		// While parent exists.
-		while (parent != null)
+		while (parent != NO_PARENT)
 		{
 			// Get parent node to current node X/Y direction.
-			final int nx = parent.getGeoX() - _current.getGeoX();
-			final int ny = parent.getGeoY() - _current.getGeoY();
+			final int nx = _geoX[parent] - _geoX[current];
+			final int ny = _geoY[parent] - _geoY[current];
 			
 			// Direction has changed?
 			if (dx != nx || dy != ny)
 			{
-				// Add current node to the beginning of the path (Node must be cloned, as NodeBuffer reuses them).
-				path.addFirst(_current.clone());
+				// Add current node to the beginning of the path.
+				path.addFirst(toLocation(current));
 				
 				// Update X/Y direction.
 				dx = nx;
@@ -139,46 +167,54 @@ public class NodeBuffer
 			}
 			
 			// Move current node and update its parent.
-			_current = parent;
-			parent = _current.getParent();
+			current = parent;
+			parent = _parent[current];
 		}
 		
 		return path;
 	}
 	
 	/**
-	 * Creates list of Nodes to show debug path.
+	 * Creates list of nodes to show debug path.
 	 * @param debug : The debug packet to add debug informations in.
 	 */
 	public final void debugPath(ExServerPrimitive debug)
 	{
-		// Add all opened node as yellow points.
-		for (Node n : _opened)
-			debug.addPoint(String.valueOf(n.getCostF()), Color.YELLOW, true, n.getX(), n.getY(), n.getZ() - 16);
-		
-		// Add all opened node as blue points.
-		for (Node n : _closed)
-			debug.addPoint(String.valueOf(n.getCostF()), Color.BLUE, true, n.getX(), n.getY(), n.getZ() - 16);
-	}
-	
-	public final boolean isLocked()
-	{
-		return _lock.tryLock();
+		for (int i = 0; i < _nodeCount; i++)
+		{
+			final Location loc = toLocation(i);
+			
+			// Add all opened node as yellow points, all closed node as blue points.
+			debug.addPoint(String.valueOf(_costF[i]), _closed[i] ? Color.BLUE : Color.YELLOW, true, loc.getX(), loc.getY(), loc.getZ() - 16);
+		}
 	}
 	
+	/**
+	 * Reset the buffer, so it can be reused by another search.
+	 */
 	public final void free()
 	{
-		_opened.clear();
-		_closed.clear();
+		for (int i = 0; i < _nodeCount; i++)
+			_closed[i] = false;
 		
-		for (int i = 0; i < _bufferIndex - 1; i++)
-			_buffer[i].clean();
-		_bufferIndex = 0;
+		_nodeCount = 0;
+		_heapSize = 0;
 		
-		_current = null;
+		// Invalidate all hash set slots at once. Clear it only when the generation counter wraps.
+		if (++_generation == 0)
+		{
+			for (int i = 0; i < _generations.length; i++)
+				_generations[i] = 0;
+			
+			_generation = 1;
+		}
 		
 		_lastElapsedTime = System.currentTimeMillis() - _timeStamp;
-		_lock.unlock();
+	}
+	
+	public final int getSize()
+	{
+		return _size;
 	}
 	
 	public final long getElapsedTime()
@@ -187,20 +223,20 @@ public class NodeBuffer
 	}
 	
 	/**
-	 * Expand the current {@link Node} by exploring its neighbors (axially and diagonally).
+	 * Expand the current node by exploring its neighbors (axially and diagonally).
 	 */
 	private void expand()
 	{
 		// Movement is blocked, skip.
-		byte nswe = _current.getNSWE();
+		byte nswe = _nswe[_current];
 		if (nswe == GeoStructure.CELL_FLAG_NONE)
 			return;
-			
+		
 		// Get geo coordinates of the node to be expanded.
 		// Note: Z coord shifted up to avoid dual-layer issues.
-		final int x = _current.getGeoX();
-		final int y = _current.getGeoY();
-		final int z = _current.getZ() + GeoStructure.CELL_IGNORE_HEIGHT;
+		final int x = _geoX[_current];
+		final int y = _geoY[_current];
+		final int z = _geoZ[_current] + GeoStructure.CELL_IGNORE_HEIGHT;
 		
 		byte nsweN = GeoStructure.CELL_FLAG_NONE;
 		byte nsweS = GeoStructure.CELL_FLAG_NONE;
@@ -241,7 +277,7 @@ public class NodeBuffer
 	}
 	
 	/**
-	 * Take {@link Node} from buffer, validate it and add to opened list.
+	 * Validate a node and add it to opened list.
 	 * @param gx : The new node X geodata coordinate.
 	 * @param gy : The new node Y geodata coordinate.
 	 * @param gz : The new node Z geodata coordinate.
@@ -255,7 +291,7 @@ public class NodeBuffer
 			return GeoStructure.CELL_FLAG_NONE;
 		
 		// Check buffer has reached capacity.
-		if (_bufferIndex >= _buffer.length)
+		if (_nodeCount >= _size)
 			return GeoStructure.CELL_FLAG_NONE;
 		
 		// Get geodata block and check if there is a layer at given coordinates.
@@ -268,29 +304,137 @@ public class NodeBuffer
 		gz = block.getHeight(index, null);
 		final byte nswe = block.getNswe(index, null);
 		
-		// Get node from current index (don't move index yet).
-		Node node = _buffer[_bufferIndex];
+		// Node is already opened or expanded, return.
+		if (contains(gx, gy, gz))
+			return nswe;
 		
 		// Node is nearby obstacle, override weight.
 		if (nswe != GeoStructure.CELL_FLAG_ALL)
 			weight = Config.OBSTACLE_WEIGHT;
 		
-		// Set node geodata coordinates.
-		node.setGeo(gx, gy, gz, nswe);
+		// The node is to be used. Set node movement cost and add it to opened list.
+		push(createNode(gx, gy, gz, nswe, _current, weight));
+		return nswe;
+	}
+	
+	/**
+	 * Register a new node.
+	 * @param gx : The node geodata X coordinate.
+	 * @param gy : The node geodata Y coordinate.
+	 * @param gz : The node geodata Z coordinate.
+	 * @param nswe : The node nswe.
+	 * @param parent : The parent node index, or {@link #NO_PARENT}.
+	 * @param weight : The weight of movement from the parent node.
+	 * @return The new node index.
+	 */
+	private int createNode(int gx, int gy, int gz, byte nswe, int parent, int weight)
+	{
+		final int node = _nodeCount++;
+		
+		_geoX[node] = gx;
+		_geoY[node] = gy;
+		_geoZ[node] = gz;
+		_nswe[node] = nswe;
+		_parent[node] = parent;
+		_costG[node] = (parent == NO_PARENT) ? weight : _costG[parent] + weight;
+		_costF[node] = _costG[node] + getCostH(gx, gy, gz);
+		
+		// Register the node into the hash set.
+		final long key = toKey(gx, gy, gz);
+		int slot = hash(key);
+		while (_generations[slot] == _generation)
+			slot = (slot + 1) & _mask;
+		
+		_keys[slot] = key;
+		_generations[slot] = _generation;
+		
+		return node;
+	}
+	
+	/**
+	 * @param gx : The node geodata X coordinate.
+	 * @param gy : The node geodata Y coordinate.
+	 * @param gz : The node geodata Z coordinate.
+	 * @return True if a node already exists for the given coordinates.
+	 */
+	private boolean contains(int gx, int gy, int gz)
+	{
+		final long key = toKey(gx, gy, gz);
+		for (int slot = hash(key); _generations[slot] == _generation; slot = (slot + 1) & _mask)
+		{
+			if (_keys[slot] == key)
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Add a node to the opened binary heap.
+	 * @param node : The node index.
+	 */
+	private void push(int node)
+	{
+		// Sift up.
+		int i = _heapSize++;
+		while (i > 0)
+		{
+			final int parent = (i - 1) >>> 1;
+			if (_costF[_heap[parent]] <= _costF[node])
+				break;
+			
+			_heap[i] = _heap[parent];
+			i = parent;
+		}
+		_heap[i] = node;
+	}
+	
+	/**
+	 * @return The node index with lowest cost F from the opened binary heap, or {@link #NO_PARENT} if empty.
+	 */
+	private int poll()
+	{
+		if (_heapSize == 0)
+			return NO_PARENT;
 		
-		// Node is already added to opened list, return.
-		if (_opened.contains(node))
-			return nswe;
+		final int result = _heap[0];
+		final int last = _heap[--_heapSize];
 		
-		// Node was already expanded, return.
-		if (_closed.contains(node))
-			return nswe;
+		// Sift down.
+		int i = 0;
+		while (true)
+		{
+			int child = (i << 1) + 1;
+			if (child >= _heapSize)
+				break;
+			
+			if (child + 1 < _heapSize && _costF[_heap[child + 1]] < _costF[_heap[child]])
+				child++;
+			
+			if (_costF[last] <= _costF[_heap[child]])
+				break;
+			
+			_heap[i] = _heap[child];
+			i = child;
+		}
+		_heap[i] = last;
 		
-		// The node is to be used. Set node movement cost and add it to opened list. Move the buffer index.
-		node.setCost(_current, weight, getCostH(gx, gy, gz));
-		_opened.add(node);
-		_bufferIndex++;
-		return nswe;
+		return result;
+	}
+	
+	private int hash(long key)
+	{
+		final int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & _mask;
+	}
+	
+	private Location toLocation(int node)
+	{
+		return new Location(GeoEngine.getWorldX(_geoX[node]), GeoEngine.getWorldY(_geoY[node]), _geoZ[node]);
+	}
+	
+	private static long toKey(int gx, int gy, int gz)
+	{
+		return ((long) gx << 40) | ((long) gy << 20) | (gz & 0xFFFFF);
 	}
 	
 	/**
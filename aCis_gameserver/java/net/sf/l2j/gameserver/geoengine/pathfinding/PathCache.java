@@ -0,0 +1,354 @@
+package net.sf.l2j.gameserver.geoengine.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.sf.l2j.gameserver.geoengine.GeoEngine;
+import net.sf.l2j.gameserver.geoengine.geodata.GeoStructure;
+import net.sf.l2j.gameserver.model.location.Location;
+
+/**
+ * A LRU cache of raw pathfinding results (before post-filter), keyed by origin and target geo cells (including their layer height).<br>
+ * <br>
+ * The cache is split into stripes, each one being a separate LRU with its own lock, so concurrent pathfindings rarely wait on each other. Each stored path is indexed by the geo blocks it crosses : once a geo object (door, fence) is opened or closed, only paths crossing its blocks are dropped. A path going around a closed door stays valid once the door opens, it just may no longer be the shortest one.<br>
+ * <br>
+ * The cache also has a generation, increased each time a geo object is toggled. A path is only stored if no geo object was toggled since its calculation started, so a path calculated on outdated geodata is never stored.
+ */
+public class PathCache
+{
+	private static final int STRIPES = 16;
+	
+	private final int _capacity;
+	private final Stripe[] _stripes = new Stripe[STRIPES];
+	
+	private final AtomicLong _generation = new AtomicLong();
+	
+	// statistics
+	private final LongAdder _hits = new LongAdder();
+	private final LongAdder _misses = new LongAdder();
+	private final LongAdder _evictions = new LongAdder();
+	private final LongAdder _invalidations = new LongAdder();
+	private final LongAdder _rejections = new LongAdder();
+	private final LongAdder _savedTime = new LongAdder();
+	
+	/**
+	 * @param capacity : The maximum amount of stored paths.
+	 */
+	public PathCache(int capacity)
+	{
+		_capacity = capacity;
+		
+		final int stripeCapacity = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+		for (int i = 0; i < STRIPES; i++)
+			_stripes[i] = new Stripe(stripeCapacity);
+	}
+	
+	/**
+	 * @param gox : origin geo x
+	 * @param goy : origin geo y
+	 * @param goz : origin height
+	 * @param gtx : target geo x
+	 * @param gty : target geo y
+	 * @param gtz : target height
+	 * @return a copy of the stored path, or null if not found.
+	 */
+	public List<Location> get(int gox, int goy, int goz, int gtx, int gty, int gtz)
+	{
+		final PathKey key = new PathKey(gox, goy, goz, gtx, gty, gtz);
+		final Stripe stripe = getStripe(key);
+		
+		final PathEntry entry;
+		synchronized (stripe)
+		{
+			entry = stripe._paths.get(key);
+		}
+		
+		if (entry == null)
+		{
+			_misses.increment();
+			return null;
+		}
+		
+		_hits.increment();
+		_savedTime.add(entry._time);
+		
+		return entry.toPath();
+	}
+	
+	/**
+	 * @return the current generation, to be retrieved before calculating a path and passed to {@link #put}.
+	 */
+	public long getGeneration()
+	{
+		return _generation.get();
+	}
+	
+	/**
+	 * Store a path, unless a geo object was toggled since its calculation started. {@link Location}s are copied, so the given path can be freely edited later.
+	 * @param gox : origin geo x
+	 * @param goy : origin geo y
+	 * @param goz : origin height
+	 * @param gtx : target geo x
+	 * @param gty : target geo y
+	 * @param gtz : target height
+	 * @param path : The path to store.
+	 * @param time : The time spent to calculate the path, in nanoseconds.
+	 * @param generation : The generation retrieved before calculating the path.
+	 */
+	public void put(int gox, int goy, int goz, int gtx, int gty, int gtz, List<Location> path, long time, long generation)
+	{
+		final PathKey key = new PathKey(gox, goy, goz, gtx, gty, gtz);
+		final PathEntry entry = new PathEntry(gox, goy, path, time);
+		final Stripe stripe = getStripe(key);
+		
+		synchronized (stripe)
+		{
+			// The geodata changed meanwhile, the path may be outdated. Checked under the lock, so an invalidation either rejects the path or drops it.
+			if (generation != _generation.get())
+			{
+				_rejections.increment();
+				return;
+			}
+			
+			stripe.put(key, entry);
+		}
+	}
+	
+	/**
+	 * Start a new generation and drop all paths crossing given blocks, once a geo object has been toggled.
+	 * @param minBX : The minimum block x.
+	 * @param maxBX : The maximum block x.
+	 * @param minBY : The minimum block y.
+	 * @param maxBY : The maximum block y.
+	 */
+	public void invalidate(int minBX, int maxBX, int minBY, int maxBY)
+	{
+		_generation.incrementAndGet();
+		
+		for (Stripe stripe : _stripes)
+		{
+			synchronized (stripe)
+			{
+				for (int bx = minBX; bx <= maxBX; bx++)
+					for (int by = minBY; by <= maxBY; by++)
+						_invalidations.add(stripe.removeBlock(toBlockKey(bx, by)));
+			}
+		}
+	}
+	
+	/**
+	 * @return cache statistics, such as hit rate, evictions and saved pathfinding time.
+	 */
+	public String getStat()
+	{
+		int size = 0;
+		for (Stripe stripe : _stripes)
+		{
+			synchronized (stripe)
+			{
+				size += stripe._paths.size();
+			}
+		}
+		
+		final long hits = _hits.sum();
+		final long requests = hits + _misses.sum();
+		
+		return "Cache: size=" + size + "/" + _capacity + " hits=" + hits + " misses=" + _misses.sum() + " rate=" + String.format("%1.2f", (requests == 0) ? 0. : 100. * hits / requests) + "% evictions=" + _evictions.sum() + " invalidations=" + _invalidations.sum() + " rejections=" + _rejections.sum() + " saved(ms)=" + _savedTime.sum() / 1000000;
+	}
+	
+	private Stripe getStripe(PathKey key)
+	{
+		return _stripes[(key.hashCode() & 0x7FFFFFFF) % STRIPES];
+	}
+	
+	private static int toBlockKey(int bx, int by)
+	{
+		return bx * GeoStructure.GEO_BLOCKS_Y + by;
+	}
+	
+	/**
+	 * A LRU part of the cache, with its block index. Always accessed under its own lock.
+	 */
+	private final class Stripe
+	{
+		private final int _stripeCapacity;
+		private final Map<PathKey, PathEntry> _paths;
+		private final Map<Integer, Set<PathKey>> _blocks = new HashMap<>();
+		
+		public Stripe(int capacity)
+		{
+			_stripeCapacity = capacity;
+			_paths = new LinkedHashMap<>(capacity, 0.75f, true)
+			{
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<PathKey, PathEntry> eldest)
+				{
+					if (size() <= _stripeCapacity)
+						return false;
+					
+					unindex(eldest.getKey(), eldest.getValue());
+					
+					_evictions.increment();
+					return true;
+				}
+			};
+		}
+		
+		public void put(PathKey key, PathEntry entry)
+		{
+			final PathEntry previous = _paths.remove(key);
+			if (previous != null)
+				unindex(key, previous);
+			
+			for (int block : entry._blocks)
+				_blocks.computeIfAbsent(block, b -> new HashSet<>()).add(key);
+			
+			_paths.put(key, entry);
+		}
+		
+		/**
+		 * Drop all paths crossing a block.
+		 * @param block : The block key.
+		 * @return the amount of dropped paths.
+		 */
+		public int removeBlock(int block)
+		{
+			final Set<PathKey> keys = _blocks.remove(block);
+			if (keys == null)
+				return 0;
+			
+			int count = 0;
+			for (PathKey key : keys)
+			{
+				final PathEntry entry = _paths.remove(key);
+				if (entry != null)
+				{
+					unindex(key, entry);
+					count++;
+				}
+			}
+			return count;
+		}
+		
+		private void unindex(PathKey key, PathEntry entry)
+		{
+			for (int block : entry._blocks)
+			{
+				final Set<PathKey> keys = _blocks.get(block);
+				if (keys != null && keys.remove(key) && keys.isEmpty())
+					_blocks.remove(block);
+			}
+		}
+	}
+	
+	/**
+	 * The origin and target geo cells, packed as 2 longs : x (16 bits), y (16 bits) and height (16 bits).
+	 */
+	private static final class PathKey
+	{
+		private final long _origin;
+		private final long _target;
+		
+		public PathKey(int gox, int goy, int goz, int gtx, int gty, int gtz)
+		{
+			_origin = pack(gox, goy, goz);
+			_target = pack(gtx, gty, gtz);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return Long.hashCode(_origin * 31 + _target);
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof PathKey))
+				return false;
+			
+			final PathKey key = (PathKey) obj;
+			return _origin == key._origin && _target == key._target;
+		}
+		
+		private static long pack(int gx, int gy, int gz)
+		{
+			return ((long) (gx & 0xFFFF) << 32) | ((long) (gy & 0xFFFF) << 16) | (gz & 0xFFFF);
+		}
+	}
+	
+	/**
+	 * A stored path, as flat coordinates, and the sorted keys of the blocks it crosses.
+	 */
+	private static final class PathEntry
+	{
+		private final int[] _coords;
+		private final int[] _blocks;
+		private final long _time;
+		
+		public PathEntry(int gox, int goy, List<Location> path, long time)
+		{
+			_coords = new int[path.size() * 3];
+			_time = time;
+			
+			int[] blocks = new int[16];
+			int count = 0;
+			
+			// Each segment is axial or diagonal, walk it cell by cell to register its blocks.
+			int gx = gox;
+			int gy = goy;
+			int i = 0;
+			for (Location loc : path)
+			{
+				_coords[i++] = loc.getX();
+				_coords[i++] = loc.getY();
+				_coords[i++] = loc.getZ();
+				
+				final int tx = GeoEngine.getGeoX(loc.getX());
+				final int ty = GeoEngine.getGeoY(loc.getY());
+				while (true)
+				{
+					if (count == blocks.length)
+						blocks = Arrays.copyOf(blocks, count * 2);
+					
+					blocks[count++] = toBlockKey(gx / GeoStructure.BLOCK_CELLS_X, gy / GeoStructure.BLOCK_CELLS_Y);
+					
+					if (gx == tx && gy == ty)
+						break;
+					
+					gx += Integer.signum(tx - gx);
+					gy += Integer.signum(ty - gy);
+				}
+			}
+			
+			// Keep distinct blocks only.
+			Arrays.sort(blocks, 0, count);
+			int distinct = 0;
+			for (int j = 0; j < count; j++)
+			{
+				if (distinct == 0 || blocks[distinct - 1] != blocks[j])
+					blocks[distinct++] = blocks[j];
+			}
+			_blocks = Arrays.copyOf(blocks, distinct);
+		}
+		
+		public List<Location> toPath()
+		{
+			final List<Location> path = new ArrayList<>(_coords.length / 3);
+			for (int i = 0; i < _coords.length; i += 3)
+				path.add(new Location(_coords[i], _coords[i + 1], _coords[i + 2]));
+			
+			return path;
+		}
+	}
+}
\ No newline at end of file
@@ -71,6 +71,9 @@ public class AdminEnchant implements IAdminCommandHandler
 				// If item is equipped, verify the skill obtention/drop (+4 duals, +6 armorset).
 				if (item.isEquipped())
 				{
+					// Enchant Funcs are based on the new enchant level.
+					targetPlayer.getStatus().invalidateStats();
+					
 					final int currentEnchant = item.getEnchantLevel();
 					
 					// Skill bestowed by +4 duals.
@@ -1,18 +1,30 @@
 package net.sf.l2j.gameserver.handler.admincommandhandlers;
 
+import java.util.Comparator;
 import java.util.StringTokenizer;
+import java.util.stream.Collectors;
 
 import net.sf.l2j.commons.network.ServerType;
+import net.sf.l2j.commons.pool.ThreadPool;
 import net.sf.l2j.commons.util.SysUtil;
 
 import net.sf.l2j.Config;
 import net.sf.l2j.gameserver.LoginServerThread;
 import net.sf.l2j.gameserver.Shutdown;
+import net.sf.l2j.gameserver.data.xml.ScriptData;
 import net.sf.l2j.gameserver.handler.IAdminCommandHandler;
 import net.sf.l2j.gameserver.model.World;
 import net.sf.l2j.gameserver.model.actor.Player;
 import net.sf.l2j.gameserver.network.serverpackets.NpcHtmlMessage;
+import net.sf.l2j.gameserver.scripting.Quest;
+import net.sf.l2j.gameserver.taskmanager.AiTaskManager;
+import net.sf.l2j.gameserver.taskmanager.EffectTaskManager;
 import net.sf.l2j.gameserver.taskmanager.GameTimeTaskManager;
+import net.sf.l2j.gameserver.taskmanager.ItemUpdateTaskManager;
+import net.sf.l2j.gameserver.taskmanager.MemoUpdateTaskManager;
+import net.sf.l2j.gameserver.taskmanager.MovementTaskManager;
+import net.sf.l2j.gameserver.taskmanager.RespawnTaskManager;
+import net.sf.l2j.gameserver.taskmanager.UserInfoTaskManager;
 
 public class AdminMaintenance implements IAdminCommandHandler
 {
@@ -69,11 +81,51 @@ public class AdminMaintenance implements IAdminCommandHandler
 					LoginServerThread.getInstance().setMaxPlayer(number);
 					player.sendMessage("Server maximum player amount is set to " + number + ".");
 					break;
+				
+				case "stats":
+					for (String line : MovementTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : AiTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : EffectTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : UserInfoTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : RespawnTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : ThreadPool.getStats())
+						player.sendMessage(line);
+					
+					for (String line : ItemUpdateTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					
+					for (String line : MemoUpdateTaskManager.getInstance().getStats())
+						player.sendMessage(line);
+					break;
+				
+				case "timers":
+					int total = 0;
+					
+					// List scripts running timers, from the busiest one.
+					for (Quest quest : ScriptData.getInstance().getQuests().stream().filter(q -> q.getQuestTimersCount() > 0).sorted(Comparator.comparingInt(Quest::getQuestTimersCount).reversed()).collect(Collectors.toList()))
+					{
+						final int count = quest.getQuestTimersCount();
+						
+						player.sendMessage(quest.getName() + ": " + count + " timer(s).");
+						total += count;
+					}
+					player.sendMessage("Total: " + total + " running quest timer(s).");
+					break;
 			}
 		}
 		catch (Exception e)
 		{
-			player.sendMessage("Usage: //server <shutdown|restart|abort|gmonly|all|max>.");
+			player.sendMessage("Usage: //server <shutdown|restart|abort|gmonly|all|max|stats|timers>.");
 		}
 		sendHtmlForm(player);
 	}
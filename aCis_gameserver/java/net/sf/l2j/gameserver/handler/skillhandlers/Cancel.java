@@ -1,5 +1,6 @@
 package net.sf.l2j.gameserver.handler.skillhandlers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -52,7 +53,7 @@ public class Cancel implements ISkillHandler
 			final int diffLevel = skill.getMagicLevel() - target.getStatus().getLevel();
 			final double skillVuln = Formulas.calcSkillVulnerability(activeChar, target, skill, skill.getSkillType());
 			
-			final List<AbstractEffect> list = Arrays.asList(target.getAllEffects());
+			final List<AbstractEffect> list = new ArrayList<>(Arrays.asList(target.getAllEffects()));
 			Collections.shuffle(list);
 			
 			for (AbstractEffect effect : list)
@@ -26,17 +26,17 @@ public class TargetAreaSummon implements ITargetHandler
 			return EMPTY_TARGET_ARRAY;
 		
 		final List<Creature> list = new ArrayList<>();
-		for (Creature creature : target.getKnownTypeInRadius(Creature.class, skill.getSkillRadius()))
+		target.forEachKnownInRadius(Creature.class, skill.getSkillRadius(), creature ->
 		{
 			if (creature == caster || creature.isDead() || !GeoEngine.getInstance().canSeeTarget(target, creature))
-				continue;
+				return;
 			
 			if (creature instanceof Attackable || creature instanceof Playable)
 			{
 				if (creature.isAttackableWithoutForceBy((Playable) caster))
 					list.add(creature);
 			}
-		}
+		});
 		
 		if (list.isEmpty())
 			return EMPTY_TARGET_ARRAY;
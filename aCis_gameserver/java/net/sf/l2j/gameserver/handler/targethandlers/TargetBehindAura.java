@@ -25,10 +25,10 @@ public class TargetBehindAura implements ITargetHandler
 	public Creature[] getTargetList(Creature caster, Creature target, L2Skill skill)
 	{
 		final List<Creature> list = new ArrayList<>();
-		for (Creature creature : caster.getKnownTypeInRadius(Creature.class, skill.getSkillRadius()))
+		caster.forEachKnownInRadius(Creature.class, skill.getSkillRadius(), creature ->
 		{
 			if (creature.isDead() || !creature.isBehind(caster) || !GeoEngine.getInstance().canSeeTarget(caster, creature))
-				continue;
+				return;
 			
 			if (caster instanceof Playable && (creature instanceof Attackable || creature instanceof Playable))
 			{
@@ -40,7 +40,7 @@ public class TargetBehindAura implements ITargetHandler
 				if (creature.isAttackableBy(caster))
 					list.add(creature);
 			}
-		}
+		});
 		
 		if (list.isEmpty())
 			return EMPTY_TARGET_ARRAY;
@@ -26,10 +26,10 @@ public class TargetFrontArea implements ITargetHandler
 		final List<Creature> list = new ArrayList<>();
 		list.add(target);
 		
-		for (Creature creature : target.getKnownTypeInRadius(Creature.class, skill.getSkillRadius()))
+		target.forEachKnownInRadius(Creature.class, skill.getSkillRadius(), creature ->
 		{
 			if (creature == caster || !creature.isInFrontOf(caster) || creature.isDead() || !GeoEngine.getInstance().canSeeTarget(target, creature))
-				continue;
+				return;
 			
 			if (caster instanceof Playable && (creature instanceof Attackable || creature instanceof Playable))
 			{
@@ -41,7 +41,7 @@ public class TargetFrontArea implements ITargetHandler
 				if (creature.isAttackableBy(caster))
 					list.add(creature);
 			}
-		}
+		});
 		
 		if (list.isEmpty())
 			return EMPTY_TARGET_ARRAY;
@@ -210,7 +210,7 @@ public final class World
 		{
 			for (int j = 0; j < REGIONS_Y; j++)
 			{
-				for (WorldObject obj : _worldRegions[i][j].getObjects())
+				for (WorldObject obj : _worldRegions[i][j].getObjects(Npc.class))
 				{
 					if (obj instanceof Npc)
 					{
@@ -235,10 +235,18 @@ public final class World
 	 */
 	public static void toAllOnlinePlayers(L2GameServerPacket packet)
 	{
-		for (Player player : World.getInstance().getPlayers())
+		packet.prepareBroadcast();
+		try
 		{
-			if (player.isOnline())
-				player.sendPacket(packet);
+			for (Player player : World.getInstance().getPlayers())
+			{
+				if (player.isOnline())
+					player.sendPacket(packet);
+			}
+		}
+		finally
+		{
+			packet.endBroadcast();
 		}
 	}
 	
@@ -3,6 +3,7 @@ package net.sf.l2j.gameserver.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import net.sf.l2j.commons.logging.CLogger;
@@ -460,9 +461,9 @@ public abstract class WorldObject
 		
 		for (WorldRegion reg : region.getSurroundingRegions())
 		{
-			for (WorldObject obj : reg.getObjects())
+			for (WorldObject obj : reg.getObjects(type))
 			{
-				if (obj == this || !type.isAssignableFrom(obj.getClass()))
+				if (obj == this || !type.isInstance(obj))
 					continue;
 				
 				result.add((A) obj);
@@ -490,9 +491,9 @@ public abstract class WorldObject
 		
 		for (WorldRegion reg : region.getSurroundingRegions())
 		{
-			for (WorldObject obj : reg.getObjects())
+			for (WorldObject obj : reg.getObjects(type))
 			{
-				if (obj == this || !type.isAssignableFrom(obj.getClass()) || !predicate.test((A) obj))
+				if (obj == this || !type.isInstance(obj) || !predicate.test((A) obj))
 					continue;
 				
 				result.add((A) obj);
@@ -520,9 +521,9 @@ public abstract class WorldObject
 		
 		for (WorldRegion reg : region.getSurroundingRegions())
 		{
-			for (WorldObject obj : reg.getObjects())
+			for (WorldObject obj : reg.getObjects(type))
 			{
-				if (obj == this || !type.isAssignableFrom(obj.getClass()) || !MathUtil.checkIfInRange(radius, this, obj, true))
+				if (obj == this || !type.isInstance(obj) || !MathUtil.checkIfInRange(radius, this, obj, true))
 					continue;
 				
 				result.add((A) obj);
@@ -551,9 +552,9 @@ public abstract class WorldObject
 		
 		for (WorldRegion reg : region.getSurroundingRegions())
 		{
-			for (WorldObject obj : reg.getObjects())
+			for (WorldObject obj : reg.getObjects(type))
 			{
-				if (obj == this || !type.isAssignableFrom(obj.getClass()) || !MathUtil.checkIfInRange(radius, this, obj, true) || !predicate.test((A) obj))
+				if (obj == this || !type.isInstance(obj) || !MathUtil.checkIfInRange(radius, this, obj, true) || !predicate.test((A) obj))
 					continue;
 				
 				result.add((A) obj);
@@ -563,6 +564,153 @@ public abstract class WorldObject
 		return result;
 	}
 	
+	/**
+	 * Run an action upon each object of the knownlist of this {@link WorldObject} for a given object type. Unlike {@link #getKnownType(Class)}, no {@link List} is built.
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param action : The action to run upon each matching object.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <A> void forEachKnown(Class<A> type, Consumer<A> action)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return;
+		
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj == this || !type.isInstance(obj))
+					continue;
+				
+				action.accept((A) obj);
+			}
+		}
+	}
+	
+	/**
+	 * Run an action upon each object of the knownlist of this {@link WorldObject} for a given object type within specified radius. Unlike {@link #getKnownTypeInRadius(Class, int)}, no {@link List} is built.
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param radius : The radius to check in which object must be located.
+	 * @param action : The action to run upon each matching object.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <A> void forEachKnownInRadius(Class<A> type, int radius, Consumer<A> action)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return;
+		
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj == this || !type.isInstance(obj) || !MathUtil.checkIfInRange(radius, this, obj, true))
+					continue;
+				
+				action.accept((A) obj);
+			}
+		}
+	}
+	
+	/**
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param predicate : The predicate to match.
+	 * @return True if at least one object of the knownlist of this {@link WorldObject}, of given object type, matches the predicate. The search stops on first match.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <A> boolean anyKnown(Class<A> type, Predicate<A> predicate)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return false;
+		
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj != this && type.isInstance(obj) && predicate.test((A) obj))
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param radius : The radius to check in which object must be located.
+	 * @return True if at least one object of the knownlist of this {@link WorldObject}, of given object type, is located within specified radius. The search stops on first match.
+	 */
+	public final <A> boolean anyKnownInRadius(Class<A> type, int radius)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return false;
+		
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj != this && type.isInstance(obj) && MathUtil.checkIfInRange(radius, this, obj, true))
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param predicate : The predicate to match.
+	 * @return The amount of objects of the knownlist of this {@link WorldObject}, of given object type, matching the predicate.
+	 */
+	@SuppressWarnings("unchecked")
+	public final <A> int countKnown(Class<A> type, Predicate<A> predicate)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return 0;
+		
+		int count = 0;
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj != this && type.isInstance(obj) && predicate.test((A) obj))
+					count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * @param <A> : The object type must be an instance of WorldObject.
+	 * @param type : The class specifying object type.
+	 * @param radius : The radius to check in which object must be located.
+	 * @return The amount of objects of the knownlist of this {@link WorldObject}, of given object type, located within specified radius.
+	 */
+	public final <A> int countKnownInRadius(Class<A> type, int radius)
+	{
+		final WorldRegion region = _region;
+		if (region == null)
+			return 0;
+		
+		int count = 0;
+		for (WorldRegion reg : region.getSurroundingRegions())
+		{
+			for (WorldObject obj : reg.getObjects(type))
+			{
+				if (obj != this && type.isInstance(obj) && MathUtil.checkIfInRange(radius, this, obj, true))
+					count++;
+			}
+		}
+		return count;
+	}
+	
 	/**
 	 * Refresh the knownlist for this {@link WorldObject}. Only used by teleport process.
 	 */
@@ -9,7 +9,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.l2j.gameserver.model.actor.Creature;
+import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.actor.Player;
+import net.sf.l2j.gameserver.model.actor.Summon;
+import net.sf.l2j.gameserver.model.item.instance.ItemInstance;
 import net.sf.l2j.gameserver.model.location.Location;
 import net.sf.l2j.gameserver.model.zone.type.DerbyTrackZone;
 import net.sf.l2j.gameserver.model.zone.type.PeaceZone;
@@ -19,8 +22,69 @@ import net.sf.l2j.gameserver.skills.L2Skill;
 
 public final class WorldRegion
 {
+	// Buckets used to sort WorldObjects by type. ALL refers to the whole objects map.
+	private static final int ALL = -1;
+	private static final int PLAYERS = 0;
+	private static final int SUMMONS = 1;
+	private static final int NPCS = 2;
+	private static final int ITEMS = 3;
+	private static final int STATICS = 4;
+	
+	private static final Class<?>[] BUCKET_TYPES =
+	{
+		Player.class,
+		Summon.class,
+		Npc.class,
+		ItemInstance.class
+	};
+	
+	/**
+	 * Associate a class to its bucket, computed only once per class :
+	 * <ul>
+	 * <li>a class extending one of {@link #BUCKET_TYPES} uses the related bucket.</li>
+	 * <li>an interface, or a class being a parent of one of {@link #BUCKET_TYPES} (such as {@link Creature}) can't be sorted, and uses {@link #ALL}.</li>
+	 * <li>any other class (doors, static objects, fences, boats...) uses {@link #STATICS}.</li>
+	 * </ul>
+	 */
+	private static final ClassValue<Integer> BUCKETS = new ClassValue<>()
+	{
+		@Override
+		protected Integer computeValue(Class<?> type)
+		{
+			for (int i = 0; i < BUCKET_TYPES.length; i++)
+			{
+				if (BUCKET_TYPES[i].isAssignableFrom(type))
+					return i;
+			}
+			
+			if (type.isInterface())
+				return ALL;
+			
+			for (Class<?> bucketType : BUCKET_TYPES)
+			{
+				if (type.isAssignableFrom(bucketType))
+					return ALL;
+			}
+			return STATICS;
+		}
+	};
+	
 	private final Map<Integer, WorldObject> _objects = new ConcurrentHashMap<>();
 	
+	@SuppressWarnings(
+	{
+		"unchecked",
+		"rawtypes"
+	})
+	private final Map<Integer, WorldObject>[] _buckets = new Map[]
+	{
+		new ConcurrentHashMap<>(),
+		new ConcurrentHashMap<>(),
+		new ConcurrentHashMap<>(),
+		new ConcurrentHashMap<>(),
+		new ConcurrentHashMap<>()
+	};
+	
 	private final List<WorldRegion> _surroundingRegions = new ArrayList<>();
 	private final List<ZoneType> _zones = new ArrayList<>();
 	
@@ -47,6 +111,16 @@ public final class WorldRegion
 		return _objects.values();
 	}
 	
+	/**
+	 * @param type : The class specifying object type.
+	 * @return the smallest {@link Collection} of {@link WorldObject}s containing all objects of the given type. It may still contain objects of other types, and must be filtered.
+	 */
+	public Collection<WorldObject> getObjects(Class<?> type)
+	{
+		final int bucket = BUCKETS.get(type);
+		return (bucket == ALL) ? _objects.values() : _buckets[bucket].values();
+	}
+	
 	public void addSurroundingRegion(WorldRegion region)
 	{
 		_surroundingRegions.add(region);
@@ -170,7 +244,7 @@ public final class WorldRegion
 	}
 	
 	/**
-	 * Put the given object into WorldRegion objects map. If it's a player, increment the counter (used for region activation/desactivation).
+	 * Put the given object into WorldRegion objects map, and its type bucket. If it's a player, increment the counter (used for region activation/desactivation).
 	 * @param object : The object to register into this region.
 	 */
 	public void addVisibleObject(WorldObject object)
@@ -179,13 +253,14 @@ public final class WorldRegion
 			return;
 		
 		_objects.put(object.getObjectId(), object);
+		_buckets[getBucket(object)].put(object.getObjectId(), object);
 		
 		if (object instanceof Player)
 			_playersCount.incrementAndGet();
 	}
 	
 	/**
-	 * Remove the given object from WorldRegion objects map. If it's a player, decrement the counter (used for region activation/desactivation).
+	 * Remove the given object from WorldRegion objects map, and its type bucket. If it's a player, decrement the counter (used for region activation/desactivation).
 	 * @param object : The object to remove from this region.
 	 */
 	public void removeVisibleObject(WorldObject object)
@@ -194,8 +269,19 @@ public final class WorldRegion
 			return;
 		
 		_objects.remove(object.getObjectId());
+		_buckets[getBucket(object)].remove(object.getObjectId());
 		
 		if (object instanceof Player)
 			_playersCount.decrementAndGet();
 	}
+	
+	/**
+	 * @param object : The {@link WorldObject} to test.
+	 * @return the bucket used to store the given {@link WorldObject}.
+	 */
+	private static int getBucket(WorldObject object)
+	{
+		final int bucket = BUCKETS.get(object.getClass());
+		return (bucket == ALL) ? STATICS : bucket;
+	}
 }
\ No newline at end of file
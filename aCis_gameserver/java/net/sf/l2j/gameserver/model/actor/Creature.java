@@ -266,8 +266,15 @@ public abstract class Creature extends WorldObject
 	 */
 	public void broadcastPacket(L2GameServerPacket packet, boolean selfToo)
 	{
-		for (final Player player : getKnownType(Player.class))
-			player.sendPacket(packet);
+		packet.prepareBroadcast();
+		try
+		{
+			forEachKnown(Player.class, player -> player.sendPacket(packet));
+		}
+		finally
+		{
+			packet.endBroadcast();
+		}
 	}
 	
 	/**
@@ -280,8 +287,15 @@ public abstract class Creature extends WorldObject
 		if (radius < 0)
 			radius = 600;
 		
-		for (final Player player : getKnownTypeInRadius(Player.class, radius))
-			player.sendPacket(packet);
+		packet.prepareBroadcast();
+		try
+		{
+			forEachKnownInRadius(Player.class, radius, player -> player.sendPacket(packet));
+		}
+		finally
+		{
+			packet.endBroadcast();
+		}
 	}
 	
 	/**
@@ -927,6 +941,10 @@ public abstract class Creature extends WorldObject
 	protected final void setTemplate(CreatureTemplate template)
 	{
 		_template = template;
+		
+		// Base stats may have changed.
+		if (_status != null)
+			_status.invalidateStats();
 	}
 	
 	/**
@@ -1153,6 +1171,10 @@ public abstract class Creature extends WorldObject
 			// Add the Func to the calculator corresponding to the state
 			_calculators[stat].addFunc(function);
 		}
+		
+		// Status isn't yet set for default Funcs.
+		if (_status != null)
+			_status.onStatModified(function.getStat());
 	}
 	
 	/**
@@ -1199,6 +1221,12 @@ public abstract class Creature extends WorldObject
 				i++;
 			}
 			
+			if (modifiedStats != null)
+			{
+				for (Stats stat : modifiedStats)
+					_status.onStatModified(stat);
+			}
+			
 			if (owner instanceof AbstractEffect)
 			{
 				if (!((AbstractEffect) owner).cantUpdateAnymore())
@@ -1264,13 +1292,13 @@ public abstract class Creature extends WorldObject
 		{
 			if (broadcastFull)
 			{
-				for (final Player player : getKnownType(Player.class))
+				forEachKnown(Player.class, player ->
 				{
 					if (_status.getMoveSpeed() == 0)
 						player.sendPacket(new ServerObjectInfo((Npc) this, player));
 					else
 						player.sendPacket(new NpcInfo((Npc) this, player));
-				}
+				});
 			}
 			else if (su != null)
 				broadcastPacket(su);
@@ -1292,7 +1320,7 @@ public abstract class Creature extends WorldObject
 	 */
 	public final boolean isMoving()
 	{
-		return getMove().getTask() != null;
+		return getMove().isMoving();
 	}
 	
 	/**
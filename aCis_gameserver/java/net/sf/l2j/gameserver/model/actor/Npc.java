@@ -146,8 +146,7 @@ public class Npc extends Creature
 	{
 		super.setWalkOrRun(value);
 		
-		for (final Player player : getKnownType(Player.class))
-			sendInfo(player);
+		forEachKnown(Player.class, this::sendInfo);
 	}
 	
 	@Override
@@ -159,8 +158,7 @@ public class Npc extends Creature
 	@Override
 	public void updateAbnormalEffect()
 	{
-		for (final Player player : getKnownType(Player.class))
-			sendInfo(player);
+		forEachKnown(Player.class, this::sendInfo);
 	}
 	
 	@Override
@@ -217,8 +217,10 @@ import net.sf.l2j.gameserver.skills.funcs.FuncHenna;
 import net.sf.l2j.gameserver.skills.funcs.FuncMaxCpMul;
 import net.sf.l2j.gameserver.taskmanager.AttackStanceTaskManager;
 import net.sf.l2j.gameserver.taskmanager.GameTimeTaskManager;
+import net.sf.l2j.gameserver.taskmanager.ItemUpdateTaskManager;
 import net.sf.l2j.gameserver.taskmanager.PvpFlagTaskManager;
 import net.sf.l2j.gameserver.taskmanager.ShadowItemTaskManager;
+import net.sf.l2j.gameserver.taskmanager.UserInfoTaskManager;
 import net.sf.l2j.gameserver.taskmanager.WaterTaskManager;
 
 /**
@@ -2308,15 +2310,25 @@ public final class Player extends Playable
 	}
 	
 	/**
-	 * Broadcast informations from a user to himself and his knownlist.<BR>
+	 * Request a broadcast of informations from a user to himself and his knownlist. Requests are coalesced by {@link UserInfoTaskManager}, and sent once using {@link #broadcastUserInfoNow()}.
+	 */
+	public final void broadcastUserInfo()
+	{
+		UserInfoTaskManager.getInstance().add(this);
+	}
+	
+	/**
+	 * Broadcast informations from a user to himself and his knownlist, without waiting. A pending coalesced broadcast is dropped.<BR>
 	 * If player is morphed, it sends informations from the template the player is using.
 	 * <ul>
 	 * <li>Send a UserInfo packet (public and private data) to this Player.</li>
 	 * <li>Send a CharInfo packet (public data only) to Player's knownlist.</li>
 	 * </ul>
 	 */
-	public final void broadcastUserInfo()
+	public final void broadcastUserInfoNow()
 	{
+		UserInfoTaskManager.getInstance().remove(this);
+		
 		sendPacket(new UserInfo(this));
 		
 		if (getPolymorphTemplate() != null)
@@ -2327,7 +2339,7 @@ public final class Player extends Playable
 	
 	public final void broadcastCharInfo()
 	{
-		for (final Player player : getKnownType(Player.class))
+		forEachKnown(Player.class, player ->
 		{
 			player.sendPacket(new CharInfo(this));
 			
@@ -2338,7 +2350,7 @@ public final class Player extends Playable
 			player.sendPacket(new RelationChanged(this, relation, isAutoAttackable));
 			if (_summon != null)
 				player.sendPacket(new RelationChanged(_summon, relation, isAutoAttackable));
-		}
+		});
 	}
 	
 	/**
@@ -4453,6 +4465,10 @@ public final class Player extends Playable
 		storeCharBase();
 		storeCharSub();
 		storeEffect(storeActiveEffects);
+		
+		// Store pending quest variables and memos.
+		_questList.store();
+		_memos.store();
 	}
 	
 	public void store()
@@ -5995,6 +6011,9 @@ public final class Player extends Playable
 			
 			_classIndex = classIndex;
 			
+			// Level may have changed.
+			getStatus().invalidateStats();
+			
 			if (_party != null)
 				_party.recalculateLevel();
 			
@@ -6236,6 +6255,9 @@ public final class Player extends Playable
 	{
 		super.onTeleported();
 		
+		// Pending informations are sent by Appearing and knownlist refresh.
+		UserInfoTaskManager.getInstance().remove(this);
+		
 		if (Config.PLAYER_SPAWN_PROTECTION > 0)
 			setSpawnProtection(true);
 		
@@ -6460,6 +6482,7 @@ public final class Player extends Playable
 			PvpFlagTaskManager.getInstance().remove(this, false);
 			GameTimeTaskManager.getInstance().remove(this);
 			ShadowItemTaskManager.getInstance().remove(this);
+			UserInfoTaskManager.getInstance().remove(this);
 			
 			// Cancel the cast of eventual fusion skill users on this target.
 			for (final Creature creature : getKnownType(Creature.class))
@@ -6532,6 +6555,9 @@ public final class Player extends Playable
 			clearFreight();
 			clearDepositedFreight();
 			
+			// Store pending items of the player, so they are up-to-date in database once the player relogs
+			ItemUpdateTaskManager.getInstance().flush(getObjectId());
+			
 			if (isCursedWeaponEquipped())
 				CursedWeaponManager.getInstance().getCursedWeapon(_cursedWeaponEquippedId).setPlayer(null);
 			
@@ -7092,7 +7118,7 @@ public final class Player extends Playable
 	@Override
 	public void broadcastRelationsChanges()
 	{
-		for (final Player player : getKnownType(Player.class))
+		forEachKnown(Player.class, player ->
 		{
 			final int relation = getRelation(player);
 			final boolean isAutoAttackable = isAttackableWithoutForceBy(player);
@@ -7100,7 +7126,7 @@ public final class Player extends Playable
 			player.sendPacket(new RelationChanged(this, relation, isAutoAttackable));
 			if (_summon != null)
 				player.sendPacket(new RelationChanged(_summon, relation, isAutoAttackable));
-		}
+		});
 	}
 	
 	@Override
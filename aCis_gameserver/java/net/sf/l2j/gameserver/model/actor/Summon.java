@@ -116,8 +116,7 @@ public abstract class Summon extends Playable
 	@Override
 	public void updateAbnormalEffect()
 	{
-		for (Player player : getKnownType(Player.class))
-			player.sendPacket(new SummonInfo(this, player, 1));
+		forEachKnown(Player.class, player -> player.sendPacket(new SummonInfo(this, player, 1)));
 	}
 	
 	/**
@@ -496,13 +495,11 @@ public abstract class Summon extends Playable
 		
 		if (isVisible())
 		{
-			for (Player player : getKnownType(Player.class))
+			forEachKnown(Player.class, player ->
 			{
-				if (player == getOwner())
-					continue;
-				
-				player.sendPacket(new SummonInfo(this, player, val));
-			}
+				if (player != getOwner())
+					player.sendPacket(new SummonInfo(this, player, val));
+			});
 		}
 	}
 	
@@ -522,8 +519,7 @@ public abstract class Summon extends Playable
 	@Override
 	public void broadcastRelationsChanges()
 	{
-		for (Player player : getOwner().getKnownType(Player.class))
-			player.sendPacket(new RelationChanged(this, getOwner().getRelation(player), isAttackableWithoutForceBy(player)));
+		getOwner().forEachKnown(Player.class, player -> player.sendPacket(new RelationChanged(this, getOwner().getRelation(player), isAttackableWithoutForceBy(player))));
 	}
 	
 	@Override
@@ -3,9 +3,7 @@ package net.sf.l2j.gameserver.model.actor.ai.type;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Future;
 
-import net.sf.l2j.commons.pool.ThreadPool;
 import net.sf.l2j.commons.random.Rnd;
 import net.sf.l2j.commons.util.ArraysUtil;
 
@@ -30,6 +28,7 @@ import net.sf.l2j.gameserver.model.location.Location;
 import net.sf.l2j.gameserver.scripting.Quest;
 import net.sf.l2j.gameserver.skills.AbstractEffect;
 import net.sf.l2j.gameserver.skills.L2Skill;
+import net.sf.l2j.gameserver.taskmanager.AiTaskManager;
 
 public class AttackableAI extends CreatureAI implements Runnable
 {
@@ -37,8 +36,6 @@ public class AttackableAI extends CreatureAI implements Runnable
 	
 	private final Set<Creature> _seenCreatures = ConcurrentHashMap.newKeySet();
 	
-	protected Future<?> _aiTask;
-	
 	protected long _attackTimeout;
 	
 	protected int _globalAggro;
@@ -93,9 +90,8 @@ public class AttackableAI extends CreatureAI implements Runnable
 	{
 		super.thinkActive();
 		
-		// Create an AI task (schedule onEvtThink every second).
-		if (_aiTask == null)
-			_aiTask = ThreadPool.scheduleAtFixedRate(this, 1000, 1000);
+		// Register the AI on the AI task manager (think every second).
+		AiTaskManager.getInstance().add(this);
 		
 		getActor().startRandomAnimationTimer();
 	}
@@ -197,39 +193,36 @@ public class AttackableAI extends CreatureAI implements Runnable
 		final String[] actorClans = me.getTemplate().getClans();
 		if (actorClans != null)
 		{
-			for (final Attackable called : me.getKnownTypeInRadius(Attackable.class, me.getTemplate().getClanRange()))
+			me.forEachKnownInRadius(Attackable.class, me.getTemplate().getClanRange(), called ->
 			{
 				// Called hasn't AI, is dead, or got already target registered.
 				if (!called.hasAI() || called.isDead() || called.getAggroList().containsKey(target))
-					continue;
+					return;
 				
 				// Caller clan doesn't correspond to the called clan.
 				if (!ArraysUtil.contains(actorClans, called.getTemplate().getClans()))
-					continue;
+					return;
 				
 				// Called ignores that type of caller id.
 				if (ArraysUtil.contains(called.getTemplate().getIgnoredIds(), me.getNpcId()))
-					continue;
+					return;
 				
 				// Check if the Attackable is in the LoS of the caller.
 				if (!GeoEngine.getInstance().canSeeTarget(me, called))
-					continue;
+					return;
 				
 				// Retrieve scripts associated to called Attackable and notify the faction call.
 				for (Quest quest : called.getTemplate().getEventQuests(ScriptEventType.ON_FACTION_CALL))
 					quest.notifyFactionCall(me, called, target);
-			}
+			});
 		}
 	}
 	
 	@Override
 	public void stopAITask()
 	{
-		if (_aiTask != null)
-		{
-			_aiTask.cancel(false);
-			_aiTask = null;
-		}
+		AiTaskManager.getInstance().remove(this);
+		
 		super.stopAITask();
 		
 		// Cancel the AI
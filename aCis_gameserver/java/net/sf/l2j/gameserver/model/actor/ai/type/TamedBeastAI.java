@@ -1,9 +1,7 @@
 package net.sf.l2j.gameserver.model.actor.ai.type;
 
 import java.util.List;
-import java.util.concurrent.Future;
 
-import net.sf.l2j.commons.pool.ThreadPool;
 import net.sf.l2j.commons.random.Rnd;
 
 import net.sf.l2j.gameserver.enums.actors.NpcSkillType;
@@ -12,6 +10,7 @@ import net.sf.l2j.gameserver.model.actor.Player;
 import net.sf.l2j.gameserver.model.actor.instance.TamedBeast;
 import net.sf.l2j.gameserver.network.serverpackets.SocialAction;
 import net.sf.l2j.gameserver.skills.L2Skill;
+import net.sf.l2j.gameserver.taskmanager.AiTaskManager;
 
 public class TamedBeastAI extends AttackableAI
 {
@@ -34,20 +33,25 @@ public class TamedBeastAI extends AttackableAI
 	};
 	
 	private int _step;
-	private Future<?> _aiTask = null;
+	private int _ticks;
 	
 	public TamedBeastAI(TamedBeast tamedBeast)
 	{
 		super(tamedBeast);
 		
-		// Create an AI task (schedule onEvtThink every second).
-		if (_aiTask == null)
-			_aiTask = ThreadPool.scheduleAtFixedRate(this, 1000, TASK_INTERVAL);
+		// Register the AI on the AI task manager.
+		AiTaskManager.getInstance().add(this);
 	}
 	
 	@Override
 	public void run()
 	{
+		// The AI task manager runs every second ; only think every TASK_INTERVAL.
+		if (++_ticks < TASK_INTERVAL / AiTaskManager.AI_PERIOD)
+			return;
+		
+		_ticks = 0;
+		
 		final Player owner = getOwner();
 		// Check if the owner is no longer around. If so, despawn.
 		if (owner == null || !owner.isOnline())
@@ -188,20 +192,6 @@ public class TamedBeastAI extends AttackableAI
 			doIntention(_nextIntention);
 	}
 	
-	@Override
-	public void stopAITask()
-	{
-		if (_aiTask != null)
-		{
-			_aiTask.cancel(false);
-			_aiTask = null;
-		}
-		super.stopAITask();
-		
-		// Cancel the AI
-		_actor.detachAI();
-	}
-	
 	@Override
 	public TamedBeast getActor()
 	{
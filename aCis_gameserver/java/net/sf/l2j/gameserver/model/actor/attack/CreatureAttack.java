@@ -1,10 +1,10 @@
 package net.sf.l2j.gameserver.model.actor.attack;
 
 import java.util.ArrayList;
-import java.util.concurrent.ScheduledFuture;
 
 import net.sf.l2j.commons.logging.CLogger;
 import net.sf.l2j.commons.pool.ThreadPool;
+import net.sf.l2j.commons.pool.Timeout;
 
 import net.sf.l2j.gameserver.enums.AiEventType;
 import net.sf.l2j.gameserver.enums.GaugeColor;
@@ -44,7 +44,7 @@ public class CreatureAttack<T extends Creature>
 	private WeaponType _weaponType;
 	private int _afterAttackDelay;
 	
-	private ScheduledFuture<?> _attackTask;
+	private Timeout _attackTask;
 	
 	public CreatureAttack(T actor)
 	{
@@ -128,7 +128,7 @@ public class CreatureAttack<T extends Creature>
 			case DUAL:
 				doHit(_hitHolders[0]);
 				
-				_attackTask = ThreadPool.schedule(() ->
+				_attackTask = ThreadPool.scheduleTimer(() ->
 				{
 					// Content was cleaned meantime, simply return doing nothing.
 					if (!isAttackingNow())
@@ -136,7 +136,7 @@ public class CreatureAttack<T extends Creature>
 					
 					doHit(_hitHolders[1]);
 					
-					_attackTask = ThreadPool.schedule(this::onFinishedAttack, _afterAttackDelay);
+					_attackTask = ThreadPool.scheduleTimer(this::onFinishedAttack, _afterAttackDelay);
 				}, _afterAttackDelay);
 				break;
 			
@@ -144,7 +144,7 @@ public class CreatureAttack<T extends Creature>
 				for (HitHolder hitHolder : _hitHolders)
 					doHit(hitHolder);
 				
-				_attackTask = ThreadPool.schedule(this::onFinishedAttack, _afterAttackDelay);
+				_attackTask = ThreadPool.scheduleTimer(this::onFinishedAttack, _afterAttackDelay);
 				break;
 			
 			case BOW:
@@ -152,7 +152,7 @@ public class CreatureAttack<T extends Creature>
 				
 				_isBowCoolingDown = true;
 				
-				_attackTask = ThreadPool.schedule(() ->
+				_attackTask = ThreadPool.scheduleTimer(() ->
 				{
 					_isBowCoolingDown = false;
 					_actor.getAI().notifyEvent(AiEventType.BOW_ATTACK_REUSED, null, null);
@@ -165,7 +165,7 @@ public class CreatureAttack<T extends Creature>
 			default:
 				doHit(_hitHolders[0]);
 				
-				_attackTask = ThreadPool.schedule(this::onFinishedAttack, _afterAttackDelay);
+				_attackTask = ThreadPool.scheduleTimer(this::onFinishedAttack, _afterAttackDelay);
 				break;
 		}
 	}
@@ -347,7 +347,7 @@ public class CreatureAttack<T extends Creature>
 		
 		setAttackTask(hits, WeaponType.BOW, reuse);
 		
-		_attackTask = ThreadPool.schedule(this::onHitTimer, sAtk);
+		_attackTask = ThreadPool.scheduleTimer(this::onHitTimer, sAtk);
 		
 		if (_actor instanceof Player)
 		{
@@ -374,7 +374,7 @@ public class CreatureAttack<T extends Creature>
 		
 		setAttackTask(hits, WeaponType.DUAL, sAtk / 2);
 		
-		_attackTask = ThreadPool.schedule(this::onHitTimer, sAtk / 2);
+		_attackTask = ThreadPool.scheduleTimer(this::onHitTimer, sAtk / 2);
 		
 		return hits;
 	}
@@ -430,7 +430,7 @@ public class CreatureAttack<T extends Creature>
 		
 		setAttackTask(hits, WeaponType.POLE, sAtk);
 		
-		_attackTask = ThreadPool.schedule(this::onHitTimer, sAtk);
+		_attackTask = ThreadPool.scheduleTimer(this::onHitTimer, sAtk);
 		
 		return hits;
 	}
@@ -451,7 +451,7 @@ public class CreatureAttack<T extends Creature>
 		
 		setAttackTask(hits, WeaponType.ETC, sAtk);
 		
-		_attackTask = ThreadPool.schedule(this::onHitTimer, sAtk);
+		_attackTask = ThreadPool.scheduleTimer(this::onHitTimer, sAtk);
 		
 		return hits;
 	}
@@ -489,7 +489,7 @@ public class CreatureAttack<T extends Creature>
 	{
 		if (_attackTask != null)
 		{
-			_attackTask.cancel(false);
+			_attackTask.cancel();
 			_attackTask = null;
 		}
 		
@@ -1,10 +1,9 @@
 package net.sf.l2j.gameserver.model.actor.cast;
 
-import java.util.concurrent.ScheduledFuture;
-
 import net.sf.l2j.commons.logging.CLogger;
 import net.sf.l2j.commons.math.MathUtil;
 import net.sf.l2j.commons.pool.ThreadPool;
+import net.sf.l2j.commons.pool.Timeout;
 
 import net.sf.l2j.gameserver.enums.AiEventType;
 import net.sf.l2j.gameserver.enums.GaugeColor;
@@ -55,7 +54,7 @@ public class CreatureCast<T extends Creature>
 	protected int _hitTime;
 	protected int _coolTime;
 	
-	protected ScheduledFuture<?> _castTask;
+	protected Timeout _castTask;
 	
 	private boolean _isCastingNow;
 	
@@ -166,7 +165,7 @@ public class CreatureCast<T extends Creature>
 		else
 			_hitTime = 0;
 		
-		_castTask = ThreadPool.schedule(this::onMagicLaunch, hitTime > 410 ? hitTime - 400 : 0);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicLaunch, hitTime > 410 ? hitTime - 400 : 0);
 	}
 	
 	/**
@@ -237,7 +236,7 @@ public class CreatureCast<T extends Creature>
 		
 		_actor.broadcastPacket(new MagicSkillLaunched(_actor, _skill, _targets));
 		
-		_castTask = ThreadPool.schedule(this::onMagicHitTimer, _hitTime == 0 ? 0 : 400);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicHitTimer, _hitTime == 0 ? 0 : 400);
 	}
 	
 	/**
@@ -293,7 +292,7 @@ public class CreatureCast<T extends Creature>
 		
 		callSkill(_skill, _targets);
 		
-		_castTask = ThreadPool.schedule(this::onMagicFinalizer, (_hitTime == 0 || _coolTime == 0) ? 0 : _coolTime);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicFinalizer, (_hitTime == 0 || _coolTime == 0) ? 0 : _coolTime);
 	}
 	
 	/**
@@ -394,7 +393,7 @@ public class CreatureCast<T extends Creature>
 		
 		if (_castTask != null)
 		{
-			_castTask.cancel(false);
+			_castTask.cancel();
 			_castTask = null;
 		}
 		
@@ -93,7 +93,7 @@ public class PlayerCast extends PlayableCast<Player>
 		_actor.sendPacket(SystemMessage.getSystemMessage(SystemMessageId.USE_S1).addSkillName(skill));
 		_actor.sendPacket(new SetupGauge(GaugeColor.BLUE, _hitTime));
 		
-		_castTask = ThreadPool.schedule(this::onMagicEffectHitTimer, hitTime > 410 ? hitTime - 400 : 0);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicEffectHitTimer, hitTime > 410 ? hitTime - 400 : 0);
 	}
 	
 	@Override
@@ -180,7 +180,7 @@ public class PlayerCast extends PlayableCast<Player>
 				_skill.useSkill(_actor, _targets);
 		}
 		
-		_castTask = ThreadPool.schedule(this::onMagicFinalizer, 0);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicFinalizer, 0);
 	}
 	
 	@Override
@@ -410,7 +410,7 @@ public class PlayerCast extends PlayableCast<Player>
 			_actor.getStatus().reduceMp(mpConsume);
 		}
 		
-		_castTask = ThreadPool.schedule(this::onMagicEffectFinalizer, 400);
+		_castTask = ThreadPool.scheduleTimer(this::onMagicEffectFinalizer, 400);
 	}
 	
 	/**
@@ -1,13 +1,16 @@
 package net.sf.l2j.gameserver.model.actor.container.creature;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import net.sf.l2j.Config;
 import net.sf.l2j.gameserver.enums.skills.EffectFlag;
@@ -29,21 +32,27 @@ import net.sf.l2j.gameserver.skills.AbstractEffect;
 import net.sf.l2j.gameserver.skills.L2Skill;
 import net.sf.l2j.gameserver.skills.effects.EffectTemplate;
 
+/**
+ * The {@link AbstractEffect}s container of a {@link Creature}.<br>
+ * <br>
+ * Modifications are queued and applied by a single writer, using working lists. Once modified, an immutable {@link Snapshot} is published, holding effects arrays and indexes by skill id and {@link EffectType}. Readers (formulas, conditions, icons) only read the current snapshot, without locking or allocating.
+ */
 public class EffectList
 {
 	private static final AbstractEffect[] EMPTY_EFFECTS = new AbstractEffect[0];
 	
+	// Working lists, only accessed by the queue runner.
 	private List<AbstractEffect> _buffs;
 	private List<AbstractEffect> _debuffs;
 	
-	// The table containing the List of all stacked effect in progress for each Stack group Identifier
+	// The table containing the List of all stacked effect in progress for each Stack group Identifier. Only accessed by the queue runner.
 	private Map<String, List<AbstractEffect>> _stackedEffects;
 	
 	private boolean _queuesInitialized = false;
 	private LinkedBlockingQueue<AbstractEffect> _addQueue;
 	private LinkedBlockingQueue<AbstractEffect> _removeQueue;
 	private final AtomicBoolean queueLock = new AtomicBoolean();
-	private int _effectFlags;
+	private volatile int _effectFlags;
 	
 	// only party icons need to be updated
 	private boolean _partyOnly = false;
@@ -51,9 +60,7 @@ public class EffectList
 	// Owner of this list
 	private final Creature _owner;
 	
-	private AbstractEffect[] _effectCache;
-	private volatile boolean _rebuildCache = true;
-	private final Object _buildEffectLock = new Object();
+	private volatile Snapshot _snapshot = Snapshot.EMPTY;
 	
 	public EffectList(Creature owner)
 	{
@@ -61,37 +68,12 @@ public class EffectList
 	}
 	
 	/**
-	 * Returns all effects affecting stored in this CharEffectList
+	 * Returns all effects affecting stored in this CharEffectList. The returned array must not be edited.
 	 * @return
 	 */
 	public final AbstractEffect[] getAllEffects()
 	{
-		// If no effect is active, return EMPTY_EFFECTS
-		if ((_buffs == null || _buffs.isEmpty()) && (_debuffs == null || _debuffs.isEmpty()))
-			return EMPTY_EFFECTS;
-		
-		synchronized (_buildEffectLock)
-		{
-			// If we dont need to rebuild the cache, just return the current one.
-			if (!_rebuildCache)
-				return _effectCache;
-			
-			_rebuildCache = false;
-			
-			// Create a copy of the effects
-			List<AbstractEffect> temp = new ArrayList<>();
-			
-			// Add all buffs and all debuffs
-			if (_buffs != null && !_buffs.isEmpty())
-				temp.addAll(_buffs);
-			if (_debuffs != null && !_debuffs.isEmpty())
-				temp.addAll(_debuffs);
-			
-			// Return all effects in an array
-			AbstractEffect[] tempArray = new AbstractEffect[temp.size()];
-			temp.toArray(tempArray);
-			return (_effectCache = tempArray);
-		}
+		return _snapshot._all;
 	}
 	
 	/**
@@ -101,42 +83,11 @@ public class EffectList
 	 */
 	public final AbstractEffect getFirstEffect(EffectType tp)
 	{
-		AbstractEffect effectNotInUse = null;
-		
-		if (_buffs != null && !_buffs.isEmpty())
-		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e == null)
-					continue;
-				
-				if (e.getEffectType() == tp)
-				{
-					if (e.getInUse())
-						return e;
-					
-					effectNotInUse = e;
-				}
-			}
-		}
+		final Group group = _snapshot._byType[tp.ordinal()];
+		if (group == null)
+			return null;
 		
-		if (effectNotInUse == null && _debuffs != null && !_debuffs.isEmpty())
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e == null)
-					continue;
-				
-				if (e.getEffectType() == tp)
-				{
-					if (e.getInUse())
-						return e;
-					
-					effectNotInUse = e;
-				}
-			}
-		}
-		return effectNotInUse;
+		return group.getFirstEffect();
 	}
 	
 	/**
@@ -146,44 +97,20 @@ public class EffectList
 	 */
 	public final AbstractEffect getFirstEffect(L2Skill skill)
 	{
+		final Group group = _snapshot.getGroup(skill.getId());
+		if (group == null)
+			return null;
+		
 		AbstractEffect effectNotInUse = null;
 		
-		if (skill.isDebuff())
+		for (AbstractEffect e : (skill.isDebuff()) ? group._debuffs : group._buffs)
 		{
-			if (_debuffs != null && !_debuffs.isEmpty())
+			if (e.getSkill() == skill)
 			{
-				for (AbstractEffect e : _debuffs)
-				{
-					if (e == null)
-						continue;
-					
-					if (e.getSkill() == skill)
-					{
-						if (e.getInUse())
-							return e;
-						
-						effectNotInUse = e;
-					}
-				}
-			}
-		}
-		else
-		{
-			if (_buffs != null && !_buffs.isEmpty())
-			{
-				for (AbstractEffect e : _buffs)
-				{
-					if (e == null)
-						continue;
-					
-					if (e.getSkill() == skill)
-					{
-						if (e.getInUse())
-							return e;
-						
-						effectNotInUse = e;
-					}
-				}
+				if (e.getInUse())
+					return e;
+				
+				effectNotInUse = e;
 			}
 		}
 		return effectNotInUse;
@@ -195,41 +122,11 @@ public class EffectList
 	 */
 	public final AbstractEffect getFirstEffect(int skillId)
 	{
-		AbstractEffect effectNotInUse = null;
+		final Group group = _snapshot.getGroup(skillId);
+		if (group == null)
+			return null;
 		
-		if (_buffs != null && !_buffs.isEmpty())
-		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e == null)
-					continue;
-				
-				if (e.getSkill().getId() == skillId)
-				{
-					if (e.getInUse())
-						return e;
-					
-					effectNotInUse = e;
-				}
-			}
-		}
-		
-		if (effectNotInUse == null && _debuffs != null && !_debuffs.isEmpty())
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e == null)
-					continue;
-				if (e.getSkill().getId() == skillId)
-				{
-					if (e.getInUse())
-						return e;
-					
-					effectNotInUse = e;
-				}
-			}
-		}
-		return effectNotInUse;
+		return group.getFirstEffect();
 	}
 	
 	/**
@@ -239,7 +136,7 @@ public class EffectList
 	 */
 	private boolean doesStack(L2Skill checkSkill)
 	{
-		if (_buffs == null || _buffs.isEmpty())
+		if (_buffs.isEmpty())
 			return false;
 		
 		final List<EffectTemplate> templates = checkSkill.getEffectTemplates();
@@ -264,42 +161,59 @@ public class EffectList
 	 */
 	public int getBuffCount()
 	{
-		if (_buffs == null || _buffs.isEmpty())
-			return 0;
-		
+		int buffCount = 0;
+		for (AbstractEffect e : _snapshot._buffs)
+		{
+			if (isCountedBuff(e))
+				buffCount++;
+		}
+		return buffCount;
+	}
+	
+	/**
+	 * Return the number of buffs in working list, not counting Songs/Dances.<br>
+	 * Please no concurrency access
+	 * @return
+	 */
+	private int getWorkingBuffCount()
+	{
 		int buffCount = 0;
 		for (AbstractEffect e : _buffs)
 		{
-			if (e != null && e.getTemplate().showIcon() && !e.getSkill().is7Signs())
-			{
-				switch (e.getSkill().getSkillType())
-				{
-					case BUFF:
-					case COMBATPOINTHEAL:
-					case REFLECT:
-					case HEAL_PERCENT:
-					case HEAL_STATIC:
-					case MANAHEAL_PERCENT:
-						buffCount++;
-				}
-			}
+			if (isCountedBuff(e))
+				buffCount++;
 		}
 		return buffCount;
 	}
 	
+	private static boolean isCountedBuff(AbstractEffect e)
+	{
+		if (!e.getTemplate().showIcon() || e.getSkill().is7Signs())
+			return false;
+		
+		switch (e.getSkill().getSkillType())
+		{
+			case BUFF:
+			case COMBATPOINTHEAL:
+			case REFLECT:
+			case HEAL_PERCENT:
+			case HEAL_STATIC:
+			case MANAHEAL_PERCENT:
+				return true;
+		}
+		return false;
+	}
+	
 	/**
 	 * Return the number of Songs/Dances in this CharEffectList
 	 * @return
 	 */
 	public int getDanceCount()
 	{
-		if (_buffs == null || _buffs.isEmpty())
-			return 0;
-		
 		int danceCount = 0;
-		for (AbstractEffect e : _buffs)
+		for (AbstractEffect e : _snapshot._buffs)
 		{
-			if (e != null && e.getSkill().isDance() && e.getInUse())
+			if (e.getSkill().isDance() && e.getInUse())
 				danceCount++;
 		}
 		return danceCount;
@@ -342,13 +256,10 @@ public class EffectList
 	 */
 	public void stopAllToggles()
 	{
-		if (_buffs != null && !_buffs.isEmpty())
+		for (AbstractEffect e : _snapshot._buffs)
 		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e != null && e.getSkill().isToggle())
-					e.exit();
-			}
+			if (e.getSkill().isToggle())
+				e.exit();
 		}
 	}
 	
@@ -358,25 +269,15 @@ public class EffectList
 	 */
 	public final void stopEffects(EffectType type)
 	{
-		if (_buffs != null && !_buffs.isEmpty())
-		{
-			for (AbstractEffect e : _buffs)
-			{
-				// Get active skills effects of the selected type
-				if (e != null && e.getEffectType() == type)
-					e.exit();
-			}
-		}
+		final Group group = _snapshot._byType[type.ordinal()];
+		if (group == null)
+			return;
 		
-		if (_debuffs != null && !_debuffs.isEmpty())
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				// Get active skills effects of the selected type
-				if (e != null && e.getEffectType() == type)
-					e.exit();
-			}
-		}
+		for (AbstractEffect e : group._buffs)
+			e.exit();
+		
+		for (AbstractEffect e : group._debuffs)
+			e.exit();
 	}
 	
 	/**
@@ -385,23 +286,15 @@ public class EffectList
 	 */
 	public final void stopSkillEffects(int skillId)
 	{
-		if (_buffs != null && !_buffs.isEmpty())
-		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e != null && e.getSkill().getId() == skillId)
-					e.exit();
-			}
-		}
+		final Group group = _snapshot.getGroup(skillId);
+		if (group == null)
+			return;
 		
-		if (_debuffs != null && !_debuffs.isEmpty())
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e != null && e.getSkill().getId() == skillId)
-					e.exit();
-			}
-		}
+		for (AbstractEffect e : group._buffs)
+			e.exit();
+		
+		for (AbstractEffect e : group._debuffs)
+			e.exit();
 	}
 	
 	/**
@@ -411,28 +304,24 @@ public class EffectList
 	 */
 	public final void stopSkillEffects(SkillType skillType, int negateLvl)
 	{
-		if (_buffs != null && !_buffs.isEmpty())
+		final Snapshot snapshot = _snapshot;
+		
+		for (AbstractEffect e : snapshot._buffs)
 		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e != null && (e.getSkill().getSkillType() == skillType || (e.getSkill().getEffectType() != null && e.getSkill().getEffectType() == skillType)) && (negateLvl == -1 || (e.getSkill().getEffectType() != null && e.getSkill().getEffectAbnormalLvl() >= 0 && e.getSkill().getEffectAbnormalLvl() <= negateLvl) || (e.getSkill().getAbnormalLvl() >= 0 && e.getSkill().getAbnormalLvl() <= negateLvl)))
-					e.exit();
-			}
+			if ((e.getSkill().getSkillType() == skillType || (e.getSkill().getEffectType() != null && e.getSkill().getEffectType() == skillType)) && (negateLvl == -1 || (e.getSkill().getEffectType() != null && e.getSkill().getEffectAbnormalLvl() >= 0 && e.getSkill().getEffectAbnormalLvl() <= negateLvl) || (e.getSkill().getAbnormalLvl() >= 0 && e.getSkill().getAbnormalLvl() <= negateLvl)))
+				e.exit();
 		}
 		
-		if (_debuffs != null && !_debuffs.isEmpty())
+		for (AbstractEffect e : snapshot._debuffs)
 		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e != null && (e.getSkill().getSkillType() == skillType || (e.getSkill().getEffectType() != null && e.getSkill().getEffectType() == skillType)) && (negateLvl == -1 || (e.getSkill().getEffectType() != null && e.getSkill().getEffectAbnormalLvl() >= 0 && e.getSkill().getEffectAbnormalLvl() <= negateLvl) || (e.getSkill().getAbnormalLvl() >= 0 && e.getSkill().getAbnormalLvl() <= negateLvl)))
-					e.exit();
-			}
+			if ((e.getSkill().getSkillType() == skillType || (e.getSkill().getEffectType() != null && e.getSkill().getEffectType() == skillType)) && (negateLvl == -1 || (e.getSkill().getEffectType() != null && e.getSkill().getEffectAbnormalLvl() >= 0 && e.getSkill().getEffectAbnormalLvl() <= negateLvl) || (e.getSkill().getAbnormalLvl() >= 0 && e.getSkill().getAbnormalLvl() <= negateLvl)))
+				e.exit();
 		}
 	}
 	
 	public void updateEffectIcons(boolean partyOnly)
 	{
-		if (_buffs == null && _debuffs == null)
+		if (!_queuesInitialized)
 			return;
 		
 		if (partyOnly)
@@ -464,6 +353,11 @@ public class EffectList
 		
 		_addQueue = new LinkedBlockingQueue<>();
 		_removeQueue = new LinkedBlockingQueue<>();
+		
+		_buffs = new ArrayList<>();
+		_debuffs = new ArrayList<>();
+		_stackedEffects = new HashMap<>();
+		
 		_queuesInitialized = true;
 	}
 	
@@ -477,22 +371,29 @@ public class EffectList
 			AbstractEffect effect;
 			do
 			{
+				boolean isModified = false;
+				
 				// remove has more priority than add so removing all effects from queue first
 				while ((effect = _removeQueue.poll()) != null)
 				{
 					removeEffectFromQueue(effect);
 					_partyOnly = false;
+					isModified = true;
 				}
 				
 				if ((effect = _addQueue.poll()) != null)
 				{
 					addEffectFromQueue(effect);
 					_partyOnly = false;
+					isModified = true;
 				}
+				
+				// Publish the modifications, so next added effect sees up-to-date flags.
+				if (isModified)
+					publish();
 			}
 			while (!_addQueue.isEmpty() || !_removeQueue.isEmpty());
 			
-			computeEffectFlags();
 			updateEffectIcons();
 		}
 		finally
@@ -506,25 +407,7 @@ public class EffectList
 		if (effect == null)
 			return;
 		
-		List<AbstractEffect> effectList;
-		
-		// array modified, then rebuild on next request
-		_rebuildCache = true;
-		
-		if (effect.getSkill().isDebuff())
-		{
-			if (_debuffs == null)
-				return;
-			
-			effectList = _debuffs;
-		}
-		else
-		{
-			if (_buffs == null)
-				return;
-			
-			effectList = _buffs;
-		}
+		final List<AbstractEffect> effectList = (effect.getSkill().isDebuff()) ? _debuffs : _buffs;
 		
 		final String stackType = effect.getTemplate().getStackType();
 		
@@ -535,9 +418,6 @@ public class EffectList
 		}
 		else
 		{
-			if (_stackedEffects == null)
-				return;
-			
 			// Get the list of all stacked effects corresponding to the stack type to add.
 			final List<AbstractEffect> stackQueue = _stackedEffects.get(stackType);
 			if (stackQueue == null || stackQueue.isEmpty())
@@ -598,9 +478,6 @@ public class EffectList
 		
 		L2Skill newSkill = newEffect.getSkill();
 		
-		// array modified, then rebuild on next request
-		_rebuildCache = true;
-		
 		if (isAffected(newEffect.getEffectFlags()) && !newEffect.onSameEffect(null))
 		{
 			newEffect.stopEffectTask();
@@ -609,9 +486,6 @@ public class EffectList
 		
 		if (newSkill.isDebuff())
 		{
-			if (_debuffs == null)
-				_debuffs = new CopyOnWriteArrayList<>();
-			
 			for (AbstractEffect e : _debuffs)
 			{
 				// Started scheduled timer needs to be canceled.
@@ -625,9 +499,6 @@ public class EffectList
 		}
 		else
 		{
-			if (_buffs == null)
-				_buffs = new CopyOnWriteArrayList<>();
-			
 			// Started scheduled timer needs to be canceled.
 			for (AbstractEffect e : _buffs)
 			{
@@ -636,7 +507,7 @@ public class EffectList
 			}
 			
 			// if max buffs, no herb effects are used, even if they would replace one old
-			if (newEffect.isHerbEffect() && getBuffCount() >= _owner.getMaxBuffCount())
+			if (newEffect.isHerbEffect() && getWorkingBuffCount() >= _owner.getMaxBuffCount())
 			{
 				newEffect.stopEffectTask();
 				return;
@@ -645,7 +516,7 @@ public class EffectList
 			// Remove first buff when buff list is full
 			if (!doesStack(newSkill) && !newSkill.is7Signs())
 			{
-				int effectsToRemove = getBuffCount() - _owner.getMaxBuffCount();
+				int effectsToRemove = getWorkingBuffCount() - _owner.getMaxBuffCount();
 				if (effectsToRemove >= 0)
 				{
 					switch (newSkill.getSkillType())
@@ -713,9 +584,6 @@ public class EffectList
 		AbstractEffect effectToAdd = null;
 		AbstractEffect effectToRemove = null;
 		
-		if (_stackedEffects == null)
-			_stackedEffects = new HashMap<>();
-		
 		// Get the list of all stacked effects corresponding to the stack type to add.
 		List<AbstractEffect> stackQueue = _stackedEffects.get(stackType);
 		if (stackQueue != null)
@@ -809,45 +677,22 @@ public class EffectList
 		else if (_owner instanceof Summon)
 			ps = new PartySpelled(_owner);
 		
-		if (_buffs != null && !_buffs.isEmpty())
+		// Buffs are followed by debuffs.
+		for (AbstractEffect e : _snapshot._all)
 		{
-			for (AbstractEffect e : _buffs)
+			if (!e.getTemplate().showIcon() || e.getEffectType() == EffectType.SIGNET_GROUND)
+				continue;
+			
+			if (e.getInUse())
 			{
-				if (e == null || !e.getTemplate().showIcon() || e.getEffectType() == EffectType.SIGNET_GROUND)
-					continue;
+				if (mi != null)
+					e.addIcon(mi);
 				
-				if (e.getInUse())
-				{
-					if (mi != null)
-						e.addIcon(mi);
-					
-					if (ps != null)
-						e.addPartySpelledIcon(ps);
-					
-					if (os != null)
-						e.addOlympiadSpelledIcon(os);
-				}
-			}
-		}
-		
-		if (_debuffs != null && !_debuffs.isEmpty())
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e == null || !e.getTemplate().showIcon() || e.getEffectType() == EffectType.SIGNET_GROUND)
-					continue;
+				if (ps != null)
+					e.addPartySpelledIcon(ps);
 				
-				if (e.getInUse())
-				{
-					if (mi != null)
-						e.addIcon(mi);
-					
-					if (ps != null)
-						e.addPartySpelledIcon(ps);
-					
-					if (os != null)
-						e.addOlympiadSpelledIcon(os);
-				}
+				if (os != null)
+					e.addOlympiadSpelledIcon(os);
 			}
 		}
 		
@@ -887,45 +732,25 @@ public class EffectList
 	 */
 	private AbstractEffect listsContains(AbstractEffect effect)
 	{
-		if (_buffs != null && !_buffs.isEmpty() && _buffs.contains(effect))
-			return effect;
-		
-		if (_debuffs != null && !_debuffs.isEmpty() && _debuffs.contains(effect))
+		if (_buffs.contains(effect) || _debuffs.contains(effect))
 			return effect;
 		
 		return null;
 	}
 	
 	/**
-	 * Recalculate effect bits flag.<br>
+	 * Publish a new {@link Snapshot} of working lists, and recalculate effect bits flag.<br>
 	 * Please no concurrency access
 	 */
-	private final void computeEffectFlags()
+	private final void publish()
 	{
-		int flags = 0;
+		final Snapshot snapshot = new Snapshot(_buffs, _debuffs);
 		
-		if (_buffs != null)
-		{
-			for (AbstractEffect e : _buffs)
-			{
-				if (e == null)
-					continue;
-				
-				flags |= e.getEffectFlags();
-			}
-		}
-		
-		if (_debuffs != null)
-		{
-			for (AbstractEffect e : _debuffs)
-			{
-				if (e == null)
-					continue;
-				
-				flags |= e.getEffectFlags();
-			}
-		}
+		int flags = 0;
+		for (AbstractEffect e : snapshot._all)
+			flags |= e.getEffectFlags();
 		
+		_snapshot = snapshot;
 		_effectFlags = flags;
 	}
 	
@@ -955,5 +780,124 @@ public class EffectList
 		_debuffs = null;
 		_stackedEffects = null;
 		_queuesInitialized = false;
+		
+		_snapshot = Snapshot.EMPTY;
+		_effectFlags = 0;
+	}
+	
+	/**
+	 * Effects matching the same key (skill id or {@link EffectType}), split as buffs and debuffs.
+	 */
+	private static final class Group
+	{
+		private final AbstractEffect[] _buffs;
+		private final AbstractEffect[] _debuffs;
+		
+		protected Group(List<AbstractEffect> buffs, List<AbstractEffect> debuffs)
+		{
+			_buffs = buffs.toArray(EMPTY_EFFECTS);
+			_debuffs = debuffs.toArray(EMPTY_EFFECTS);
+		}
+		
+		/**
+		 * @return the first effect in use, searching buffs then debuffs. If none is in use, return the last effect not in use (debuffs are only searched if no buff matched).
+		 */
+		protected AbstractEffect getFirstEffect()
+		{
+			AbstractEffect effectNotInUse = null;
+			
+			for (AbstractEffect e : _buffs)
+			{
+				if (e.getInUse())
+					return e;
+				
+				effectNotInUse = e;
+			}
+			
+			if (effectNotInUse != null)
+				return effectNotInUse;
+			
+			for (AbstractEffect e : _debuffs)
+			{
+				if (e.getInUse())
+					return e;
+				
+				effectNotInUse = e;
+			}
+			return effectNotInUse;
+		}
+	}
+	
+	/**
+	 * An immutable view of the effects, with indexes by skill id and {@link EffectType}.
+	 */
+	private static final class Snapshot
+	{
+		protected static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyList());
+		
+		private final AbstractEffect[] _buffs;
+		private final AbstractEffect[] _debuffs;
+		private final AbstractEffect[] _all;
+		
+		// Skill ids sorted ascending, and their matching groups ; searched without boxing.
+		private final int[] _skillIds;
+		private final Group[] _bySkillId;
+		private final Group[] _byType = new Group[EffectType.values().length];
+		
+		protected Snapshot(List<AbstractEffect> buffs, List<AbstractEffect> debuffs)
+		{
+			_buffs = buffs.toArray(EMPTY_EFFECTS);
+			_debuffs = debuffs.toArray(EMPTY_EFFECTS);
+			
+			_all = new AbstractEffect[_buffs.length + _debuffs.length];
+			System.arraycopy(_buffs, 0, _all, 0, _buffs.length);
+			System.arraycopy(_debuffs, 0, _all, _buffs.length, _debuffs.length);
+			
+			if (_all.length == 0)
+			{
+				_skillIds = new int[0];
+				_bySkillId = new Group[0];
+				return;
+			}
+			
+			final Map<Integer, List<AbstractEffect>> skillBuffs = new HashMap<>();
+			final Map<Integer, List<AbstractEffect>> skillDebuffs = new HashMap<>();
+			final Map<EffectType, List<AbstractEffect>> typeBuffs = new EnumMap<>(EffectType.class);
+			final Map<EffectType, List<AbstractEffect>> typeDebuffs = new EnumMap<>(EffectType.class);
+			
+			for (AbstractEffect e : _buffs)
+			{
+				skillBuffs.computeIfAbsent(e.getSkill().getId(), k -> new ArrayList<>()).add(e);
+				typeBuffs.computeIfAbsent(e.getEffectType(), k -> new ArrayList<>()).add(e);
+			}
+			
+			for (AbstractEffect e : _debuffs)
+			{
+				skillDebuffs.computeIfAbsent(e.getSkill().getId(), k -> new ArrayList<>()).add(e);
+				typeDebuffs.computeIfAbsent(e.getEffectType(), k -> new ArrayList<>()).add(e);
+			}
+			
+			_skillIds = Stream.concat(skillBuffs.keySet().stream(), skillDebuffs.keySet().stream()).mapToInt(Integer::intValue).distinct().sorted().toArray();
+			_bySkillId = new Group[_skillIds.length];
+			for (int i = 0; i < _skillIds.length; i++)
+				_bySkillId[i] = new Group(skillBuffs.getOrDefault(_skillIds[i], Collections.emptyList()), skillDebuffs.getOrDefault(_skillIds[i], Collections.emptyList()));
+			
+			for (AbstractEffect e : _all)
+			{
+				final int ordinal = e.getEffectType().ordinal();
+				if (_byType[ordinal] == null)
+					_byType[ordinal] = new Group(typeBuffs.getOrDefault(e.getEffectType(), Collections.emptyList()), typeDebuffs.getOrDefault(e.getEffectType(), Collections.emptyList()));
+			}
+		}
+		
+		/**
+		 * @param skillId : The skill id to search.
+		 * @return the {@link Group} of effects of the given skill id, or null if none.
+		 */
+		protected Group getGroup(int skillId)
+		{
+			final int index = Arrays.binarySearch(_skillIds, skillId);
+			return (index < 0) ? null : _bySkillId[index];
+		}
 	}
 }
\ No newline at end of file
@@ -63,6 +63,9 @@ public class HennaList
 		
 		for (int i = 0; i < _stats.length; i++)
 			_stats[i] = Math.min(_stats[i], MAX_HENNA_STAT_VALUE);
+		
+		// Base stats have changed.
+		_owner.getStatus().invalidateStats();
 	}
 	
 	/**
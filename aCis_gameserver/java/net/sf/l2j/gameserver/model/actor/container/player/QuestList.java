@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -19,6 +20,7 @@ import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.actor.Player;
 import net.sf.l2j.gameserver.scripting.Quest;
 import net.sf.l2j.gameserver.scripting.QuestState;
+import net.sf.l2j.gameserver.taskmanager.MemoUpdateTaskManager;
 
 public final class QuestList extends ArrayList<QuestState>
 {
@@ -136,6 +138,38 @@ public final class QuestList extends ArrayList<QuestState>
 		}
 	}
 	
+	/**
+	 * Store pending variables of all {@link QuestState}s, using a single {@link Connection}.
+	 */
+	public void store()
+	{
+		final QuestState[] states = toArray(new QuestState[0]);
+		
+		// Avoid to retrieve a Connection if nothing has to be stored.
+		if (Arrays.stream(states).allMatch(qs -> qs == null || qs.getDirtySize() == 0))
+			return;
+		
+		try (Connection con = ConnectionPool.getConnection())
+		{
+			for (QuestState qs : states)
+			{
+				if (qs != null)
+					qs.store(con);
+			}
+		}
+		catch (Exception e)
+		{
+			LOGGER.error("Couldn't store quests, retrying later.", e);
+			
+			// Pending variables are kept ; let the task manager retry.
+			for (QuestState qs : states)
+			{
+				if (qs != null && qs.getDirtySize() > 0)
+					MemoUpdateTaskManager.getInstance().add(qs);
+			}
+		}
+	}
+	
 	public void processQuestEvent(String questName, String event)
 	{
 		final Quest quest = ScriptData.getInstance().getQuest(questName);
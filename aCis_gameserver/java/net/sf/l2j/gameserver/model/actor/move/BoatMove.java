@@ -24,11 +24,10 @@ public class BoatMove extends CreatureMove<Boat>
 	@Override
 	public void stop()
 	{
-		if (_task == null)
+		if (!isMoving())
 			return;
 		
-		_task.cancel(false);
-		_task = null;
+		cancelMoveTask();
 		
 		_actor.broadcastPacket(new VehicleStarted(_actor, 0));
 		_actor.broadcastPacket(new VehicleInfo(_actor));
@@ -25,6 +25,7 @@ import net.sf.l2j.gameserver.network.serverpackets.L2GameServerPacket;
 import net.sf.l2j.gameserver.network.serverpackets.MoveToLocation;
 import net.sf.l2j.gameserver.network.serverpackets.MoveToPawn;
 import net.sf.l2j.gameserver.network.serverpackets.StopMove;
+import net.sf.l2j.gameserver.taskmanager.MovementTaskManager;
 
 /**
  * This class groups all movement data related to a {@link Creature}.
@@ -53,7 +54,6 @@ public class CreatureMove<T extends Creature>
 	protected boolean _isDebugMove;
 	protected boolean _isDebugPath;
 	
-	protected ScheduledFuture<?> _task;
 	protected ScheduledFuture<?> _followTask;
 	
 	public CreatureMove(T actor)
@@ -61,6 +61,11 @@ public class CreatureMove<T extends Creature>
 		_actor = actor;
 	}
 	
+	public T getActor()
+	{
+		return _actor;
+	}
+	
 	public Location getDestination()
 	{
 		return _destination;
@@ -87,9 +92,12 @@ public class CreatureMove<T extends Creature>
 		_moveTypes &= ~type.getMask();
 	}
 	
-	public ScheduledFuture<?> getTask()
+	/**
+	 * @return true if this {@link CreatureMove} is registered on {@link MovementTaskManager}. The registration is the only moving state, so it can't differ from the actual processing.
+	 */
+	public boolean isMoving()
 	{
-		return _task;
+		return MovementTaskManager.getInstance().contains(this);
 	}
 	
 	public boolean isDebugMove()
@@ -206,40 +214,39 @@ public class CreatureMove<T extends Creature>
 	
 	public void registerMoveTask()
 	{
-		if (_task != null)
+		if (isMoving())
 			return;
 		
 		_blocked = false;
 		
-		_task = ThreadPool.scheduleAtFixedRate(() ->
-		{
-			if (updatePosition(false) && !moveToNextRoutePoint())
-				ThreadPool.execute(() ->
-				{
-					cancelMoveTask();
-					
-					_actor.revalidateZone(true);
-					if (!_blocked)
-						_actor.getAI().notifyEvent(AiEventType.ARRIVED, null, null);
-					else
-						_actor.getAI().notifyEvent(AiEventType.ARRIVED_BLOCKED, null, null);
-				});
-		}, 100, 100);
+		MovementTaskManager.getInstance().add(this);
 	}
 	
 	public void cancelMoveTask()
 	{
-		if (_task != null)
-		{
-			_task.cancel(false);
-			_task = null;
-		}
+		MovementTaskManager.getInstance().remove(this);
+	}
+	
+	/**
+	 * End the movement of the {@link Creature} associated to this {@link CreatureMove}, and notify its AI about the arrival.<br>
+	 * <br>
+	 * Called by {@link MovementTaskManager} once the destination is reached (or blocked) and no route point is left.
+	 */
+	public void onMoveFinished()
+	{
+		cancelMoveTask();
+		
+		_actor.revalidateZone(true);
+		if (!_blocked)
+			_actor.getAI().notifyEvent(AiEventType.ARRIVED, null, null);
+		else
+			_actor.getAI().notifyEvent(AiEventType.ARRIVED_BLOCKED, null, null);
 	}
 	
 	public boolean moveToNextRoutePoint()
 	{
 		// Creature is not on geodata path, return.
-		if (_task == null || _geoPath.isEmpty())
+		if (!isMoving() || _geoPath.isEmpty())
 			return false;
 		
 		// Movement is not allowed, return.
@@ -283,7 +290,7 @@ public class CreatureMove<T extends Creature>
 	 */
 	public boolean updatePosition(boolean firstRun)
 	{
-		if (_task == null || !_actor.isVisible())
+		if (!isMoving() || !_actor.isVisible())
 			return true;
 		
 		// We got a pawn target, but it is not known anymore - stop the movement.
@@ -433,7 +440,7 @@ public class CreatureMove<T extends Creature>
 		// The follow task needs to be stopped regardless of the move task
 		cancelFollowTask();
 		
-		if (_task == null)
+		if (!isMoving())
 			return;
 		
 		_actor.revalidateZone(true);
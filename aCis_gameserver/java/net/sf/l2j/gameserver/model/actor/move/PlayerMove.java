@@ -64,7 +64,7 @@ public class PlayerMove extends CreatureMove<Player>
 		_pawn = pawn;
 		_offset = offset;
 		
-		if (_task != null)
+		if (isMoving())
 			updatePosition(true);
 		
 		_instant = Instant.now();
@@ -123,7 +123,7 @@ public class PlayerMove extends CreatureMove<Player>
 			return;
 		}
 		
-		if (_task != null)
+		if (isMoving())
 			updatePosition(true);
 		
 		_instant = Instant.now();
@@ -207,7 +207,7 @@ public class PlayerMove extends CreatureMove<Player>
 	@Override
 	public boolean updatePosition(boolean firstRun)
 	{
-		if (_task == null || !_actor.isVisible())
+		if (!isMoving() || !_actor.isVisible())
 			return true;
 		
 		// We got a pawn target, but it is not known anymore - stop the movement.
@@ -409,7 +409,7 @@ public class PlayerMove extends CreatureMove<Player>
 		if ((getMoveType() == MoveType.GROUND) ? _actor.isIn2DRadius(target, offset) : _actor.isIn3DRadius(target, offset))
 			return;
 		
-		if (_task == null)
+		if (!isMoving())
 		{
 			_pawn = target;
 			_offset = offset;
@@ -3,6 +3,7 @@ package net.sf.l2j.gameserver.model.actor.status;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.l2j.commons.pool.ThreadPool;
 import net.sf.l2j.commons.random.Rnd;
@@ -18,6 +19,7 @@ import net.sf.l2j.gameserver.network.serverpackets.StatusUpdate;
 import net.sf.l2j.gameserver.skills.Calculator;
 import net.sf.l2j.gameserver.skills.Formulas;
 import net.sf.l2j.gameserver.skills.L2Skill;
+import net.sf.l2j.gameserver.skills.basefuncs.Func;
 
 /**
  * This class groups all data related to HP/MP tracking of a {@link Creature}, aswell as {@link Stats} calculation.<br>
@@ -47,6 +49,10 @@ public class CreatureStatus<T extends Creature>
 	private double _hpUpdateDecCheck = .0;
 	private double _hpUpdateInterval = .0;
 	
+	// Cached Stats values, indexed by Stats ordinal. Lazily created, since most Creatures never calculate stats.
+	private CachedStat[] _statCache;
+	private final AtomicInteger _statGeneration = new AtomicInteger();
+	
 	public CreatureStatus(T actor)
 	{
 		_actor = actor;
@@ -485,6 +491,18 @@ public class CreatureStatus<T extends Creature>
 		if (calculator == null || calculator.size() == 0)
 			return init;
 		
+		// Retrieve versions before the calculation ; if they are modified meanwhile, the stored value simply won't be used.
+		final Func[] funcs = calculator.getFunctions();
+		final int generation = _statGeneration.get();
+		
+		CachedStat[] cache = _statCache;
+		if (cache != null)
+		{
+			final CachedStat cached = cache[stat.ordinal()];
+			if (cached != null && cached.isValid(funcs, generation, init))
+				return cached._value;
+		}
+		
 		// Launch the calculation.
 		double value = calculator.calc(_actor, target, skill, init);
 		
@@ -492,9 +510,49 @@ public class CreatureStatus<T extends Creature>
 		if (value <= 0 && stat.cantBeNegative())
 			value = 1.0;
 		
+		// Store the value if no Func depends on the target, the skill or a volatile state.
+		if (Calculator.isCacheable(funcs))
+		{
+			if (cache == null)
+			{
+				cache = new CachedStat[Stats.NUM_STATS];
+				_statCache = cache;
+			}
+			cache[stat.ordinal()] = new CachedStat(funcs, generation, init, value);
+		}
+		
 		return value;
 	}
 	
+	/**
+	 * Invalidate all cached {@link Stats} values of this {@link Creature}.<br>
+	 * <br>
+	 * A {@link Calculator} modification is detected by itself, and only invalidates its own {@link Stats}. This method must be called once a state read by the {@link Func}s is modified, such as level, base stats, class or equipped items.
+	 */
+	public final void invalidateStats()
+	{
+		_statGeneration.incrementAndGet();
+	}
+	
+	/**
+	 * Invalidate cached {@link Stats} values, if needed, once a {@link Func} of the given {@link Stats} has been added or removed. Base stats are used by most other {@link Stats}, and invalidate them all.
+	 * @param stat : The modified {@link Stats}.
+	 */
+	public final void onStatModified(Stats stat)
+	{
+		switch (stat)
+		{
+			case STAT_STR:
+			case STAT_CON:
+			case STAT_DEX:
+			case STAT_INT:
+			case STAT_WIT:
+			case STAT_MEN:
+				invalidateStats();
+				break;
+		}
+	}
+	
 	/**
 	 * @return the STR of this {@link Creature}.
 	 */
@@ -810,4 +868,28 @@ public class CreatureStatus<T extends Creature>
 	{
 		return (100.0 - 11 + getLevel()) / 100.0;
 	}
+	
+	/**
+	 * A calculated {@link Stats} value, along the {@link Func}s, generation and initial value it was calculated with.
+	 */
+	private static final class CachedStat
+	{
+		private final Func[] _funcs;
+		private final int _generation;
+		private final double _init;
+		private final double _value;
+		
+		public CachedStat(Func[] funcs, int generation, double init, double value)
+		{
+			_funcs = funcs;
+			_generation = generation;
+			_init = init;
+			_value = value;
+		}
+		
+		public boolean isValid(Func[] funcs, int generation, double init)
+		{
+			return _funcs == funcs && _generation == generation && Double.compare(_init, init) == 0;
+		}
+	}
 }
\ No newline at end of file
@@ -28,6 +28,8 @@ public class PlayableStatus<T extends Playable> extends CreatureStatus<T>
 	public void setLevel(int value)
 	{
 		_level = value;
+		
+		invalidateStats();
 	}
 	
 	@Override
@@ -682,7 +682,11 @@ public class PlayerStatus extends PlayableStatus<Player>
 		value = Math.min(value, PlayerLevelData.getInstance().getRealMaxLevel());
 		
 		if (_actor.isSubClassActive())
+		{
 			_actor.getSubClasses().get(_actor.getClassIndex()).setLevel(value);
+			
+			invalidateStats();
+		}
 		else
 			super.setLevel(value);
 	}
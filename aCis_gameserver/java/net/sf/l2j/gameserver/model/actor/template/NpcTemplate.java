@@ -1,5 +1,6 @@
 package net.sf.l2j.gameserver.model.actor.template;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,6 +18,7 @@ import net.sf.l2j.gameserver.enums.actors.NpcAiType;
 import net.sf.l2j.gameserver.enums.actors.NpcRace;
 import net.sf.l2j.gameserver.enums.actors.NpcSkillType;
 import net.sf.l2j.gameserver.model.MinionData;
+import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.clanhall.ClanHall;
 import net.sf.l2j.gameserver.model.clanhall.SiegableHall;
 import net.sf.l2j.gameserver.model.entity.Castle;
@@ -70,6 +72,8 @@ public class NpcTemplate extends CreatureTemplate
 	private ClanHall _clanHall;
 	private SiegableHall _siegableHall;
 	
+	private MethodHandle _constructor;
+	
 	public NpcTemplate(StatSet set)
 	{
 		super(set);
@@ -175,6 +179,48 @@ public class NpcTemplate extends CreatureTemplate
 		return _type.equalsIgnoreCase(type);
 	}
 	
+	/**
+	 * @return the constructor of the {@link Npc} instance type, or null if this {@link NpcTemplate} can't be spawned using it.
+	 */
+	public MethodHandle getConstructor()
+	{
+		return _constructor;
+	}
+	
+	/**
+	 * Set the constructor of the {@link Npc} instance type, resolved once per type by {@link net.sf.l2j.gameserver.data.xml.NpcData}.
+	 * @param constructor : The constructor, typed as (int, NpcTemplate)Npc.
+	 */
+	public void setConstructor(MethodHandle constructor)
+	{
+		_constructor = constructor;
+	}
+	
+	/**
+	 * Create a new {@link Npc} instance of this {@link NpcTemplate} type, without reflection.
+	 * @param objectId : The objectId to use.
+	 * @return the new Npc instance.
+	 * @throws IllegalStateException : If this NpcTemplate type has no constructor.
+	 */
+	public Npc newInstance(int objectId)
+	{
+		if (_constructor == null)
+			throw new IllegalStateException("No constructor for " + _type + " type.");
+		
+		try
+		{
+			return (Npc) _constructor.invokeExact(objectId, this);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new IllegalStateException(t);
+		}
+	}
+	
 	public String getName()
 	{
 		return _name;
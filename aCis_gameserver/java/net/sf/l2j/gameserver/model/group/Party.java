@@ -124,8 +124,16 @@ public class Party extends AbstractGroup
 	@Override
 	public void broadcastPacket(final L2GameServerPacket packet)
 	{
-		for (Player member : _members)
-			member.sendPacket(packet);
+		packet.prepareBroadcast();
+		try
+		{
+			for (Player member : _members)
+				member.sendPacket(packet);
+		}
+		finally
+		{
+			packet.endBroadcast();
+		}
 	}
 	
 	@Override
@@ -65,8 +65,16 @@ public class PartyMatchRoom extends AbstractGroup
 	@Override
 	public void broadcastPacket(L2GameServerPacket packet)
 	{
-		for (Player member : _members)
-			member.sendPacket(packet);
+		packet.prepareBroadcast();
+		try
+		{
+			for (Player member : _members)
+				member.sendPacket(packet);
+		}
+		finally
+		{
+			packet.endBroadcast();
+		}
 	}
 	
 	@Override
@@ -3,6 +3,8 @@ package net.sf.l2j.gameserver.model.item.instance;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.locks.ReentrantLock;
@@ -43,6 +45,7 @@ import net.sf.l2j.gameserver.network.serverpackets.SpawnItem;
 import net.sf.l2j.gameserver.scripting.Quest;
 import net.sf.l2j.gameserver.scripting.QuestState;
 import net.sf.l2j.gameserver.skills.basefuncs.Func;
+import net.sf.l2j.gameserver.taskmanager.ItemUpdateTaskManager;
 import net.sf.l2j.gameserver.taskmanager.ItemsOnGroundTaskManager;
 
 /**
@@ -52,13 +55,13 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 {
 	private static final Logger ITEM_LOG = Logger.getLogger("item");
 	
-	private static final String DELETE_AUGMENTATION = "DELETE FROM augmentations WHERE item_oid = ?";
+	public static final String DELETE_AUGMENTATION = "DELETE FROM augmentations WHERE item_oid = ?";
 	private static final String RESTORE_AUGMENTATION = "SELECT attributes, skill_id, skill_level FROM augmentations WHERE item_oid = ?";
 	private static final String UPDATE_AUGMENTATION = "REPLACE INTO augmentations VALUES(?, ?, ?, ?)";
 	
-	private static final String UPDATE_ITEM = "UPDATE items SET owner_id=?,count=?,loc=?,loc_data=?,enchant_level=?,custom_type1=?,custom_type2=?,mana_left=?,time=? WHERE object_id = ?";
-	private static final String INSERT_ITEM = "INSERT INTO items (owner_id,item_id,count,loc,loc_data,enchant_level,object_id,custom_type1,custom_type2,mana_left,time) VALUES (?,?,?,?,?,?,?,?,?,?,?)";
-	private static final String DELETE_ITEM = "DELETE FROM items WHERE object_id=?";
+	public static final String UPDATE_ITEM = "UPDATE items SET owner_id=?,count=?,loc=?,loc_data=?,enchant_level=?,custom_type1=?,custom_type2=?,mana_left=?,time=? WHERE object_id = ?";
+	public static final String INSERT_ITEM = "INSERT INTO items (owner_id,item_id,count,loc,loc_data,enchant_level,object_id,custom_type1,custom_type2,mana_left,time) VALUES (?,?,?,?,?,?,?,?,?,?,?)";
+	public static final String DELETE_ITEM = "DELETE FROM items WHERE object_id=?";
 	
 	private static final String DELETE_PET_ITEM = "DELETE FROM pets WHERE item_obj_id=?";
 	
@@ -783,8 +786,23 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 	 * <UL>
 	 * <LI><B>IF</B> the item hasn't a null quantity, and has a correct location, and has a correct owner : insert item in database</LI>
 	 * </UL>
+	 * If write-behind is activated, the item is only queued on {@link ItemUpdateTaskManager}, and stored with its latest values on next flush.
 	 */
 	public void updateDatabase()
+	{
+		if (Config.ITEM_UPDATE_INTERVAL > 0)
+		{
+			ItemUpdateTaskManager.getInstance().add(this);
+			return;
+		}
+		
+		updateDatabaseNow();
+	}
+	
+	/**
+	 * Immediately update the database, using a single statement. See {@link #updateDatabase()} for details.
+	 */
+	public void updateDatabaseNow()
 	{
 		_dbLock.lock();
 		
@@ -811,6 +829,108 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 		}
 	}
 	
+	/**
+	 * Bind the pending database operation of this item on the given batched statements, following {@link #updateDatabase()} rules.<br>
+	 * <br>
+	 * The item is flagged as stored right away : a modification happening before the batch is executed will be written on next flush.
+	 * @param insert : The batched {@link #INSERT_ITEM} statement.
+	 * @param update : The batched {@link #UPDATE_ITEM} statement.
+	 * @param delete : The batched {@link #DELETE_ITEM} statement.
+	 * @param deleteAugmentation : The batched {@link #DELETE_AUGMENTATION} statement.
+	 * @return ADDED, MODIFIED or REMOVED depending of the batched operation, or UNCHANGED if nothing was batched.
+	 * @throws SQLException if a parameter can't be bound.
+	 */
+	public ItemState addToBatch(PreparedStatement insert, PreparedStatement update, PreparedStatement delete, PreparedStatement deleteAugmentation) throws SQLException
+	{
+		_dbLock.lock();
+		
+		try
+		{
+			final boolean isInvalid = _ownerId == 0 || _loc == ItemLocation.VOID || (getCount() == 0 && _loc != ItemLocation.LEASE);
+			
+			if (_existsInDb)
+			{
+				if (isInvalid)
+				{
+					delete.setInt(1, getObjectId());
+					delete.addBatch();
+					
+					deleteAugmentation.setInt(1, getObjectId());
+					deleteAugmentation.addBatch();
+					
+					_existsInDb = false;
+					_storedInDb = false;
+					return ItemState.REMOVED;
+				}
+				
+				if (_storedInDb)
+					return ItemState.UNCHANGED;
+				
+				setUpdateParameters(update);
+				update.addBatch();
+				
+				_storedInDb = true;
+				return ItemState.MODIFIED;
+			}
+			
+			if (isInvalid)
+				return ItemState.UNCHANGED;
+			
+			setInsertParameters(insert);
+			insert.addBatch();
+			
+			_existsInDb = true;
+			_storedInDb = true;
+			return ItemState.ADDED;
+		}
+		finally
+		{
+			_dbLock.unlock();
+		}
+	}
+	
+	/**
+	 * Complete a batched operation, once executed.
+	 * @param state : The operation returned by {@link #addToBatch}.
+	 */
+	public void onBatchStored(ItemState state)
+	{
+		if (state == ItemState.ADDED && _augmentation != null)
+			updateItemAttributes();
+	}
+	
+	/**
+	 * Revert flags set by {@link #addToBatch}, if the batch failed.
+	 * @param state : The operation returned by {@link #addToBatch}.
+	 */
+	public void onBatchFailed(ItemState state)
+	{
+		_dbLock.lock();
+		
+		try
+		{
+			switch (state)
+			{
+				case ADDED:
+					_existsInDb = false;
+					_storedInDb = false;
+					break;
+				
+				case MODIFIED:
+					_storedInDb = false;
+					break;
+				
+				case REMOVED:
+					_existsInDb = true;
+					break;
+			}
+		}
+		finally
+		{
+			_dbLock.unlock();
+		}
+	}
+	
 	/**
 	 * @param ownerId : objectID of the owner.
 	 * @param rs : the ResultSet of the item.
@@ -966,16 +1086,7 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 		try (Connection con = ConnectionPool.getConnection();
 			PreparedStatement ps = con.prepareStatement(UPDATE_ITEM))
 		{
-			ps.setInt(1, _ownerId);
-			ps.setInt(2, getCount());
-			ps.setString(3, _loc.name());
-			ps.setInt(4, _locData);
-			ps.setInt(5, getEnchantLevel());
-			ps.setInt(6, getCustomType1());
-			ps.setInt(7, getCustomType2());
-			ps.setInt(8, _mana);
-			ps.setLong(9, getTime());
-			ps.setInt(10, getObjectId());
+			setUpdateParameters(ps);
 			ps.executeUpdate();
 			
 			_existsInDb = true;
@@ -997,17 +1108,7 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 		try (Connection con = ConnectionPool.getConnection();
 			PreparedStatement ps = con.prepareStatement(INSERT_ITEM))
 		{
-			ps.setInt(1, _ownerId);
-			ps.setInt(2, _itemId);
-			ps.setInt(3, getCount());
-			ps.setString(4, _loc.name());
-			ps.setInt(5, _locData);
-			ps.setInt(6, getEnchantLevel());
-			ps.setInt(7, getObjectId());
-			ps.setInt(8, _type1);
-			ps.setInt(9, _type2);
-			ps.setInt(10, _mana);
-			ps.setLong(11, getTime());
+			setInsertParameters(ps);
 			ps.executeUpdate();
 			
 			_existsInDb = true;
@@ -1016,12 +1117,52 @@ public final class ItemInstance extends WorldObject implements Runnable, Compara
 			if (_augmentation != null)
 				updateItemAttributes();
 		}
+		catch (SQLIntegrityConstraintViolationException e)
+		{
+			// The item already exists, update it instead.
+			_existsInDb = true;
+			_storedInDb = false;
+			
+			updateInDb();
+			
+			if (_augmentation != null)
+				updateItemAttributes();
+		}
 		catch (Exception e)
 		{
 			LOGGER.error("Couldn't insert {}.", e, toString());
 		}
 	}
 	
+	private void setUpdateParameters(PreparedStatement ps) throws SQLException
+	{
+		ps.setInt(1, _ownerId);
+		ps.setInt(2, getCount());
+		ps.setString(3, _loc.name());
+		ps.setInt(4, _locData);
+		ps.setInt(5, getEnchantLevel());
+		ps.setInt(6, getCustomType1());
+		ps.setInt(7, getCustomType2());
+		ps.setInt(8, _mana);
+		ps.setLong(9, getTime());
+		ps.setInt(10, getObjectId());
+	}
+	
+	private void setInsertParameters(PreparedStatement ps) throws SQLException
+	{
+		ps.setInt(1, _ownerId);
+		ps.setInt(2, _itemId);
+		ps.setInt(3, getCount());
+		ps.setString(4, _loc.name());
+		ps.setInt(5, _locData);
+		ps.setInt(6, getEnchantLevel());
+		ps.setInt(7, getObjectId());
+		ps.setInt(8, _type1);
+		ps.setInt(9, _type2);
+		ps.setInt(10, _mana);
+		ps.setLong(11, getTime());
+	}
+	
 	/**
 	 * Delete item from database
 	 */
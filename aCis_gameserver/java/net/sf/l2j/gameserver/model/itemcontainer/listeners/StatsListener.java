@@ -16,12 +16,16 @@ public class StatsListener implements OnEquipListener
 	@Override
 	public void onEquip(Paperdoll slot, ItemInstance item, Playable playable)
 	{
+		// Some Funcs are based on equipped slots, invalidate all stats.
+		playable.getStatus().invalidateStats();
 		playable.addStatFuncs(item.getStatFuncs(playable));
 	}
 	
 	@Override
 	public void onUnequip(Paperdoll slot, ItemInstance item, Playable playable)
 	{
+		// Some Funcs are based on equipped slots, invalidate all stats.
+		playable.getStatus().invalidateStats();
 		playable.removeStatsByOwner(item);
 	}
 }
\ No newline at end of file
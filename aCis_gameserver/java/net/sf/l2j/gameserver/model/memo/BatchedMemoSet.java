@@ -0,0 +1,194 @@
+package net.sf.l2j.gameserver.model.memo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.sf.l2j.commons.data.MemoSet;
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ConnectionPool;
+
+import net.sf.l2j.Config;
+import net.sf.l2j.gameserver.taskmanager.MemoUpdateTaskManager;
+
+/**
+ * A {@link MemoSet} whose variables are tracked as dirty in memory, and written to database by batches.<br>
+ * <br>
+ * Only the key is tracked : its latest value is read at store time, a missing value meaning the variable has to be deleted. Variables are stored every {@link Config#MEMO_UPDATE_INTERVAL} ms by {@link MemoUpdateTaskManager}, or immediately if that interval is set to 0.
+ */
+public abstract class BatchedMemoSet extends MemoSet
+{
+	private static final long serialVersionUID = 1L;
+	
+	private static final CLogger LOGGER = new CLogger(BatchedMemoSet.class.getName());
+	
+	private final Set<String> _dirtyKeys = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean _isQueued = new AtomicBoolean();
+	
+	/**
+	 * @return the query used to insert or update a variable.
+	 */
+	protected abstract String getSetQuery();
+	
+	/**
+	 * @return the query used to delete a variable.
+	 */
+	protected abstract String getUnsetQuery();
+	
+	/**
+	 * Set parameters of the {@link #getSetQuery()} {@link PreparedStatement}.
+	 * @param ps : The PreparedStatement to edit.
+	 * @param key : The variable name.
+	 * @param value : The variable value.
+	 * @throws SQLException : When a parameter can't be set.
+	 */
+	protected abstract void setSetParameters(PreparedStatement ps, String key, String value) throws SQLException;
+	
+	/**
+	 * Set parameters of the {@link #getUnsetQuery()} {@link PreparedStatement}.
+	 * @param ps : The PreparedStatement to edit.
+	 * @param key : The variable name.
+	 * @throws SQLException : When a parameter can't be set.
+	 */
+	protected abstract void setUnsetParameters(PreparedStatement ps, String key) throws SQLException;
+	
+	public BatchedMemoSet()
+	{
+		super();
+	}
+	
+	@Override
+	protected void onSet(String key, String value)
+	{
+		markDirty(key);
+	}
+	
+	@Override
+	protected void onUnset(String key)
+	{
+		markDirty(key);
+	}
+	
+	/**
+	 * @return the amount of variables waiting to be stored.
+	 */
+	public int getDirtySize()
+	{
+		return _dirtyKeys.size();
+	}
+	
+	/**
+	 * Flag this {@link BatchedMemoSet} as queued or not. MemoSets are compared by content, therefore the flag is used instead of a {@link Set} to avoid duplicate queuing.
+	 * @param isQueued : The new flag value.
+	 * @return true if the flag was modified, or false if it already had that value.
+	 */
+	public boolean setQueued(boolean isQueued)
+	{
+		return _isQueued.compareAndSet(!isQueued, isQueued);
+	}
+	
+	/**
+	 * Forget all pending variables, without storing them. Used when the related rows are deleted by other means.
+	 */
+	public synchronized void discardChanges()
+	{
+		_dirtyKeys.clear();
+	}
+	
+	/**
+	 * Store pending variables, using its own {@link Connection}. Does nothing if no variable is pending.
+	 */
+	public void store()
+	{
+		if (_dirtyKeys.isEmpty())
+			return;
+		
+		try (Connection con = ConnectionPool.getConnection())
+		{
+			store(con);
+		}
+		catch (Exception e)
+		{
+			LOGGER.error("Couldn't store {} memos, retrying later.", e, getClass().getSimpleName());
+			
+			// Pending variables are kept ; let the task manager retry.
+			MemoUpdateTaskManager.getInstance().add(this);
+		}
+	}
+	
+	/**
+	 * Store pending variables using the given {@link Connection}, with one batch per statement type. On failure, variables are kept pending.
+	 * @param con : The Connection to use.
+	 * @return the amount of stored variables.
+	 * @throws SQLException : When the batches can't be executed.
+	 */
+	public synchronized int store(Connection con) throws SQLException
+	{
+		if (_dirtyKeys.isEmpty())
+			return 0;
+		
+		// Retrieve pending keys. Keys modified again during the store are kept pending, or stored with their latest value.
+		final List<String> keys = new ArrayList<>(_dirtyKeys.size());
+		
+		final Iterator<String> iterator = _dirtyKeys.iterator();
+		while (iterator.hasNext())
+		{
+			keys.add(iterator.next());
+			iterator.remove();
+		}
+		
+		try (PreparedStatement set = con.prepareStatement(getSetQuery());
+			PreparedStatement unset = con.prepareStatement(getUnsetQuery()))
+		{
+			boolean hasSet = false;
+			boolean hasUnset = false;
+			
+			for (String key : keys)
+			{
+				final String value = get(key);
+				if (value == null)
+				{
+					setUnsetParameters(unset, key);
+					unset.addBatch();
+					hasUnset = true;
+				}
+				else
+				{
+					setSetParameters(set, key, value);
+					set.addBatch();
+					hasSet = true;
+				}
+			}
+			
+			if (hasSet)
+				set.executeBatch();
+			
+			if (hasUnset)
+				unset.executeBatch();
+		}
+		catch (SQLException e)
+		{
+			// Keep variables pending, they will be stored on next attempt.
+			_dirtyKeys.addAll(keys);
+			throw e;
+		}
+		
+		return keys.size();
+	}
+	
+	private void markDirty(String key)
+	{
+		_dirtyKeys.add(key);
+		
+		if (Config.MEMO_UPDATE_INTERVAL > 0)
+			MemoUpdateTaskManager.getInstance().add(this);
+		else
+			store();
+	}
+}
\ No newline at end of file
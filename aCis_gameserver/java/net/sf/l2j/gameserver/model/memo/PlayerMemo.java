@@ -3,15 +3,15 @@ package net.sf.l2j.gameserver.model.memo;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
-import net.sf.l2j.commons.data.MemoSet;
 import net.sf.l2j.commons.logging.CLogger;
 import net.sf.l2j.commons.pool.ConnectionPool;
 
 /**
- * An implementation of {@link MemoSet} used for Player. There is a restore/save system.
+ * An implementation of {@link BatchedMemoSet} used for Player. There is a restore/save system.
  */
-public class PlayerMemo extends MemoSet
+public class PlayerMemo extends BatchedMemoSet
 {
 	private static final long serialVersionUID = 1L;
 	
@@ -46,37 +46,29 @@ public class PlayerMemo extends MemoSet
 	}
 	
 	@Override
-	protected void onSet(String key, String value)
+	protected String getSetQuery()
 	{
-		// Insert memo, on duplicate update it.
-		try (Connection con = ConnectionPool.getConnection();
-			PreparedStatement ps = con.prepareStatement(INSERT_OR_UPDATE_MEMO))
-		{
-			ps.setInt(1, _objectId);
-			ps.setString(2, key);
-			ps.setString(3, value);
-			ps.execute();
-		}
-		catch (Exception e)
-		{
-			LOGGER.error("Couldn't set {} memo for player id {}.", e, key, _objectId);
-		}
+		return INSERT_OR_UPDATE_MEMO;
 	}
 	
 	@Override
-	protected void onUnset(String key)
+	protected String getUnsetQuery()
 	{
-		// Clear memo.
-		try (Connection con = ConnectionPool.getConnection();
-			PreparedStatement ps = con.prepareStatement(DELETE_MEMO))
-		{
-			ps.setInt(1, _objectId);
-			ps.setString(2, key);
-			ps.execute();
-		}
-		catch (Exception e)
-		{
-			LOGGER.error("Couldn't unset {} memo for player id {}.", e, key, _objectId);
-		}
+		return DELETE_MEMO;
+	}
+	
+	@Override
+	protected void setSetParameters(PreparedStatement ps, String key, String value) throws SQLException
+	{
+		ps.setInt(1, _objectId);
+		ps.setString(2, key);
+		ps.setString(3, value);
+	}
+	
+	@Override
+	protected void setUnsetParameters(PreparedStatement ps, String key) throws SQLException
+	{
+		ps.setInt(1, _objectId);
+		ps.setString(2, key);
 	}
 }
\ No newline at end of file
@@ -1,19 +1,16 @@
 package net.sf.l2j.gameserver.model.spawn;
 
-import java.lang.reflect.Constructor;
-
 import net.sf.l2j.commons.logging.CLogger;
-import net.sf.l2j.commons.pool.ThreadPool;
 import net.sf.l2j.commons.random.Rnd;
 
 import net.sf.l2j.gameserver.data.xml.NpcData;
 import net.sf.l2j.gameserver.geoengine.GeoEngine;
 import net.sf.l2j.gameserver.idfactory.IdFactory;
 import net.sf.l2j.gameserver.model.World;
-import net.sf.l2j.gameserver.model.actor.Creature;
 import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.actor.template.NpcTemplate;
 import net.sf.l2j.gameserver.model.location.SpawnLocation;
+import net.sf.l2j.gameserver.taskmanager.RespawnTaskManager;
 
 /**
  * This class manages the spawn and respawn of a {@link Npc}.
@@ -26,8 +23,6 @@ public final class Spawn implements Runnable
 	
 	private NpcTemplate _template;
 	
-	private Constructor<?> _constructor;
-	
 	private Npc _npc;
 	
 	private int _respawnDelay;
@@ -45,13 +40,9 @@ public final class Spawn implements Runnable
 		// Set the template of the Spawn.
 		_template = template;
 		
-		// Create the generic constructor.
-		Class<?>[] parameters =
-		{
-			int.class,
-			Class.forName("net.sf.l2j.gameserver.model.actor.template.NpcTemplate")
-		};
-		_constructor = Class.forName("net.sf.l2j.gameserver.model.actor.instance." + _template.getType()).getConstructor(parameters);
+		// Check the constructor, resolved on NpcData load.
+		if (_template.getConstructor() == null)
+			throw new NoSuchMethodException("No constructor for " + _template.getType() + " type.");
 	}
 	
 	public Spawn(int id) throws SecurityException, ClassNotFoundException, NoSuchMethodException
@@ -66,13 +57,9 @@ public final class Spawn implements Runnable
 		// Set the template of the Spawn.
 		_template = template;
 		
-		// Create the generic constructor.
-		Class<?>[] parameters =
-		{
-			int.class,
-			Class.forName("net.sf.l2j.gameserver.model.actor.template.NpcTemplate")
-		};
-		_constructor = Class.forName("net.sf.l2j.gameserver.model.actor.instance." + _template.getType()).getConstructor(parameters);
+		// Check the constructor, resolved on NpcData load.
+		if (_template.getConstructor() == null)
+			throw new NoSuchMethodException("No constructor for " + _template.getType() + " type.");
 	}
 	
 	/**
@@ -281,25 +268,11 @@ public final class Spawn implements Runnable
 			if (_template.isType("Pet"))
 				return null;
 			
-			// Get parameters and generate an id.
-			Object[] parameters =
-			{
-				IdFactory.getInstance().getNextId(),
-				_template
-			};
-			
-			// Call the constructor.
-			Object tmp = _constructor.newInstance(parameters);
-			
-			if (isSummonSpawn && tmp instanceof Creature)
-				((Creature) tmp).setShowSummonAnimation(isSummonSpawn);
-			
-			// Check if the instance is a Npc.
-			if (!(tmp instanceof Npc))
-				return null;
+			// Generate an id and call the constructor.
+			_npc = _template.newInstance(IdFactory.getInstance().getNextId());
 			
-			// Create final instance.
-			_npc = (Npc) tmp;
+			if (isSummonSpawn)
+				_npc.setShowSummonAnimation(isSummonSpawn);
 			
 			// Assign Spawn to Npc instance.
 			_npc.setSpawn(this);
@@ -317,7 +290,7 @@ public final class Spawn implements Runnable
 	}
 	
 	/**
-	 * Create a respawn task to be launched after the fixed + random delay. Respawn is only possible when respawn enabled.
+	 * Schedule the respawn on {@link RespawnTaskManager}, after the fixed + random delay. Respawn is only possible when respawn enabled.
 	 */
 	public void doRespawn()
 	{
@@ -328,7 +301,7 @@ public final class Spawn implements Runnable
 			final int respawnTime = calculateRespawnTime() * 1000;
 			
 			// Schedule respawn of the NPC
-			ThreadPool.schedule(this, respawnTime);
+			RespawnTaskManager.getInstance().add(this, respawnTime);
 		}
 	}
 	
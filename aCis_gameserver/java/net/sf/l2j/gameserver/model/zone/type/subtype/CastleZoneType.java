@@ -77,7 +77,7 @@ public abstract class CastleZoneType extends ZoneType
 			final WorldRegion region = World.getInstance().getRegion(this);
 			for (WorldRegion reg : region.getSurroundingRegions())
 			{
-				for (WorldObject obj : reg.getObjects())
+				for (WorldObject obj : reg.getObjects(Player.class))
 					if (obj instanceof Player)
 						((Player) obj).sendPacket(new EventTrigger(_eventId, val));
 			}
@@ -260,10 +260,18 @@ public abstract class ZoneType
 	 */
 	public void broadcastPacket(L2GameServerPacket packet)
 	{
-		for (Creature character : _characters.values())
+		packet.prepareBroadcast();
+		try
 		{
-			if (character instanceof Player)
-				character.sendPacket(packet);
+			for (Creature character : _characters.values())
+			{
+				if (character instanceof Player)
+					character.sendPacket(packet);
+			}
+		}
+		finally
+		{
+			packet.endBroadcast();
 		}
 	}
 	
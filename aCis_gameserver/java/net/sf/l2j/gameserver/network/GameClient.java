@@ -743,7 +743,11 @@ public final class GameClient extends MMOClient<MMOConnection<GameClient>> imple
 				return;
 			}
 			
-			ThreadPool.execute(this);
+			// Packets doing blocking database access don't hold instant pool threads.
+			if (Config.USE_BLOCKING_CLIENT_THREADS)
+				ThreadPool.executeBlocking(this);
+			else
+				ThreadPool.execute(this);
 		}
 		catch (RejectedExecutionException e)
 		{
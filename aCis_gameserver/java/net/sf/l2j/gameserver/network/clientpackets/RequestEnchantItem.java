@@ -133,6 +133,9 @@ public final class RequestEnchantItem extends AbstractEnchantPacket
 				// If item is equipped, verify the skill obtention (+4 duals, +6 armorset).
 				if (item.isEquipped())
 				{
+					// Enchant Funcs are based on the new enchant level.
+					player.getStatus().invalidateStats();
+					
 					final Item it = item.getItem();
 					
 					// Add skill bestowed by +4 duals.
@@ -216,6 +219,9 @@ public final class RequestEnchantItem extends AbstractEnchantPacket
 					
 					item.setEnchantLevel(0);
 					item.updateDatabase();
+					
+					if (item.isEquipped())
+						player.getStatus().invalidateStats();
 					player.sendPacket(EnchantResult.UNSUCCESS);
 				}
 				else
@@ -70,7 +70,7 @@ public final class RequestRecipeShopListSet extends L2GameClientPacket
 		player.getMove().stop();
 		player.sitDown();
 		player.setOperateType(OperateType.MANUFACTURE);
-		player.broadcastUserInfo();
+		player.broadcastUserInfoNow();
 		player.broadcastPacket(new RecipeShopMsg(player));
 	}
 }
\ No newline at end of file
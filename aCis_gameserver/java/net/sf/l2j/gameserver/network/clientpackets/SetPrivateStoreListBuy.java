@@ -114,7 +114,7 @@ public final class SetPrivateStoreListBuy extends L2GameClientPacket
 		player.getMove().stop();
 		player.sitDown();
 		player.setOperateType(OperateType.BUY);
-		player.broadcastUserInfo();
+		player.broadcastUserInfoNow();
 		player.broadcastPacket(new PrivateStoreMsgBuy(player));
 	}
 }
\ No newline at end of file
@@ -109,7 +109,7 @@ public final class SetPrivateStoreListSell extends L2GameClientPacket
 		player.getMove().stop();
 		player.sitDown();
 		player.setOperateType((_packageSale) ? OperateType.PACKAGE_SELL : OperateType.SELL);
-		player.broadcastUserInfo();
+		player.broadcastUserInfoNow();
 		player.broadcastPacket(new PrivateStoreMsgSell(player));
 	}
 }
\ No newline at end of file
@@ -198,6 +198,12 @@ public abstract class AbstractNpcInfo extends L2GameServerPacket
 			}
 		}
 		
+		@Override
+		protected boolean isViewerDependent()
+		{
+			return true;
+		}
+		
 		@Override
 		protected void writeImpl()
 		{
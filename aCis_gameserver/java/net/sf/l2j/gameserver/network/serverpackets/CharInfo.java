@@ -18,6 +18,12 @@ public class CharInfo extends L2GameServerPacket
 		_player = player;
 	}
 	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
+	}
+	
 	@Override
 	protected final void writeImpl()
 	{
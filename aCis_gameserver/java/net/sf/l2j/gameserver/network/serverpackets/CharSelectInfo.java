@@ -44,6 +44,12 @@ public class CharSelectInfo extends L2GameServerPacket
 		_activeId = activeId;
 	}
 	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
+	}
+	
 	@Override
 	protected final void writeImpl()
 	{
@@ -12,6 +12,12 @@ public class GameGuardQuery extends L2GameServerPacket
 		getClient().setGameGuardOk(false);
 	}
 	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
+	}
+	
 	@Override
 	public void writeImpl()
 	{
@@ -1,6 +1,12 @@
 package net.sf.l2j.gameserver.network.serverpackets;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import net.sf.l2j.gameserver.data.cache.HtmCache;
+import net.sf.l2j.gameserver.data.cache.HtmTemplate;
 import net.sf.l2j.gameserver.enums.SayType;
 import net.sf.l2j.gameserver.model.actor.Player;
 
@@ -14,6 +20,11 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 	private String _html;
 	private String _file;
 	
+	// The template and its slot values, used until a replacement can't be handled as a slot.
+	private HtmTemplate _template;
+	private Map<String, String> _values;
+	private boolean _isBypassSafe;
+	
 	private int _itemId = 0;
 	private boolean _validate = true;
 	
@@ -35,26 +46,31 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 		if (SHOW_FILE && player.isGM() && _file != null)
 			player.sendPacket(new CreatureSay(SayType.ALL, "HTML", _file));
 		
-		player.clearBypass();
-		for (int i = 0; i < _html.length(); i++)
+		final List<String> bypasses = new ArrayList<>();
+		final List<String> bypasses2 = new ArrayList<>();
+		
+		// Retrieve bypasses from the template if slot values can't alter them, otherwise search them on rendered content.
+		synchronized (this)
 		{
-			int start = _html.indexOf("\"bypass ", i);
-			int finish = _html.indexOf("\"", start + 1);
-			if (start < 0 || finish < 0)
-				break;
-			
-			if (_html.substring(start + 8, start + 10).equals("-h"))
-				start += 11;
+			if (_template != null && _isBypassSafe)
+				_template.renderBypasses(_values, bypasses, bypasses2);
 			else
-				start += 8;
-			
-			i = finish;
-			int finish2 = _html.indexOf("$", start);
-			if (finish2 < finish && finish2 > 0)
-				player.addBypass2(_html.substring(start, finish2).trim());
-			else
-				player.addBypass(_html.substring(start, finish).trim());
+				HtmTemplate.findBypasses(getHtml(), bypasses, bypasses2);
 		}
+		
+		player.clearBypass();
+		
+		for (String bypass : bypasses)
+			player.addBypass(bypass);
+		
+		for (String bypass : bypasses2)
+			player.addBypass2(bypass);
+	}
+	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
 	}
 	
 	@Override
@@ -63,7 +79,7 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 		writeC(0x0f);
 		
 		writeD(_objectId);
-		writeS(_html);
+		writeS(getHtml());
 		writeD(_itemId);
 	}
 	
@@ -79,6 +95,9 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 	
 	public void setHtml(String text)
 	{
+		_template = null;
+		_values = null;
+		
 		if (text.length() > 8192)
 		{
 			_html = "<html><body>Html was too long.</body></html>";
@@ -88,6 +107,70 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 		_html = text;
 	}
 	
+	/**
+	 * Set the content using a {@link HtmTemplate}. Replacements of its slots are rendered at once, when the packet is sent.
+	 * @param template : The HtmTemplate to use.
+	 */
+	public void setTemplate(HtmTemplate template)
+	{
+		if (template.getContent().length() > 8192)
+		{
+			setHtml(template.getContent());
+			return;
+		}
+		
+		_template = template;
+		_values = new HashMap<>();
+		_isBypassSafe = true;
+		_html = null;
+	}
+	
+	/**
+	 * @return the rendered content.
+	 */
+	private synchronized String getHtml()
+	{
+		if (_html == null)
+			_html = _template.render(_values);
+		
+		return _html;
+	}
+	
+	/**
+	 * Drop the template, keeping its rendered content. Following replacements are applied on the content.
+	 */
+	private void dropTemplate()
+	{
+		if (_template == null)
+			return;
+		
+		_html = getHtml();
+		_template = null;
+		_values = null;
+	}
+	
+	/**
+	 * Fill a slot of the template, if the replacement can be handled as such : the pattern is a slot, and the value can't be matched by following replacements.
+	 * @param pattern : The pattern to replace.
+	 * @param value : The replacement value.
+	 * @return true if the slot has been filled, false if the replacement must be applied on the content.
+	 */
+	private boolean fillSlot(String pattern, String value)
+	{
+		if (_template == null || !_template.hasSlot(pattern) || value.indexOf('%') >= 0 || value.indexOf('\\') >= 0)
+			return false;
+		
+		// Once replaced, a pattern can't be found anymore.
+		if (_values.putIfAbsent(pattern, value) == null)
+		{
+			_html = null;
+			
+			if (_isBypassSafe)
+				_isBypassSafe = HtmTemplate.isBypassSafe(value);
+		}
+		return true;
+	}
+	
 	public void setFile(String filename)
 	{
 		// Avoid to generate file directory if config is off.
@@ -99,31 +182,38 @@ public final class NpcHtmlMessage extends L2GameServerPacket
 			if (index != -1)
 				_file = _file.substring(index + 5, _file.length());
 		}
-		setHtml(HtmCache.getInstance().getHtmForce(filename));
+		setTemplate(HtmCache.getInstance().getTemplateForce(filename));
 	}
 	
 	public void basicReplace(String pattern, String value)
 	{
+		dropTemplate();
+		
 		_html = _html.replaceAll(pattern, value);
 	}
 	
 	public void replace(String pattern, String value)
 	{
+		if (fillSlot(pattern, value))
+			return;
+		
+		dropTemplate();
+		
 		_html = _html.replaceAll(pattern, value.replaceAll("\\$", "\\\\\\$"));
 	}
 	
 	public void replace(String pattern, int value)
 	{
-		_html = _html.replaceAll(pattern, Integer.toString(value));
+		replace(pattern, Integer.toString(value));
 	}
 	
 	public void replace(String pattern, long value)
 	{
-		_html = _html.replaceAll(pattern, Long.toString(value));
+		replace(pattern, Long.toString(value));
 	}
 	
 	public void replace(String pattern, double value)
 	{
-		_html = _html.replaceAll(pattern, Double.toString(value));
+		replace(pattern, Double.toString(value));
 	}
 }
\ No newline at end of file
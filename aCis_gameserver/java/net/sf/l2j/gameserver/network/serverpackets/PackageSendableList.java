@@ -14,6 +14,12 @@ public class PackageSendableList extends L2GameServerPacket
 		_objectId = objectId;
 	}
 	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
+	}
+	
 	@Override
 	protected void writeImpl()
 	{
@@ -23,6 +23,12 @@ public class SiegeInfo extends L2GameServerPacket
 		_hall = hall;
 	}
 	
+	@Override
+	protected boolean isViewerDependent()
+	{
+		return true;
+	}
+	
 	@Override
 	protected final void writeImpl()
 	{
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.l2j.commons.data.StatSet;
@@ -86,7 +86,8 @@ public class Quest
 	public static final String SOUND_BEFORE_BATTLE = "Itemsound.quest_before_battle";
 	public static final String SOUND_TUTORIAL = "ItemSound.quest_tutorial";
 	
-	private final Set<QuestTimer> _timers = ConcurrentHashMap.newKeySet();
+	// QuestTimers indexed by name, then by Npc and Player.
+	private final Map<String, Map<TimerKey, QuestTimer>> _timers = new ConcurrentHashMap<>();
 	
 	private final int _id;
 	private final String _descr;
@@ -676,11 +677,16 @@ public class Quest
 		}
 		
 		// Check if specific timer already exists. If so, return.
-		if (_timers.stream().anyMatch(qt -> qt.getName().equals(name) && qt.getNpc() == npc && qt.getPlayer() == player))
+		final QuestTimer timer = new QuestTimer(this, name, npc, player);
+		if (getTimers(name).putIfAbsent(new TimerKey(npc, player), timer) != null)
 			return false;
 		
-		// Add new timer.
-		_timers.add(new QuestTimer(this, name, npc, player, initial, period));
+		// Schedule the new timer. If it can't be scheduled, drop it.
+		if (!timer.start(initial, period))
+		{
+			removeQuestTimer(timer);
+			return false;
+		}
 		return true;
 	}
 	
@@ -692,8 +698,23 @@ public class Quest
 	 */
 	public final QuestTimer getQuestTimer(String name, Npc npc, Player player)
 	{
-		// Find the timer and return.
-		return _timers.stream().filter(qt -> qt.getName().equals(name) && qt.getNpc() == npc && qt.getPlayer() == player).findFirst().orElse(null);
+		final Map<TimerKey, QuestTimer> timers = _timers.get(name);
+		if (timers == null)
+			return null;
+		
+		return timers.get(new TimerKey(npc, player));
+	}
+	
+	/**
+	 * @return The amount of running {@link QuestTimer}s of this {@link Quest}.
+	 */
+	public final int getQuestTimersCount()
+	{
+		int count = 0;
+		for (Map<TimerKey, QuestTimer> timers : _timers.values())
+			count += timers.size();
+		
+		return count;
 	}
 	
 	/**
@@ -702,8 +723,12 @@ public class Quest
 	 */
 	public final void cancelQuestTimers(String name)
 	{
+		final Map<TimerKey, QuestTimer> timers = _timers.get(name);
+		if (timers == null)
+			return;
+		
 		// Cancel all quest timers with given name.
-		_timers.stream().filter(qt -> qt.getName().equals(name)).forEach(QuestTimer::cancel);
+		timers.values().forEach(QuestTimer::cancel);
 	}
 	
 	/**
@@ -713,7 +738,8 @@ public class Quest
 	public final void cancelQuestTimers(Npc npc)
 	{
 		// Cancel all quest timers with given Npc.
-		_timers.stream().filter(qt -> qt.getNpc() == npc).forEach(QuestTimer::cancel);
+		for (Map<TimerKey, QuestTimer> timers : _timers.values())
+			timers.values().stream().filter(qt -> qt.getNpc() == npc).forEach(QuestTimer::cancel);
 	}
 	
 	/**
@@ -723,7 +749,8 @@ public class Quest
 	public final void cancelQuestTimers(Player player)
 	{
 		// Cancel all quest timers with given Player.
-		_timers.stream().filter(qt -> qt.getPlayer() == player).forEach(QuestTimer::cancel);
+		for (Map<TimerKey, QuestTimer> timers : _timers.values())
+			timers.values().stream().filter(qt -> qt.getPlayer() == player).forEach(QuestTimer::cancel);
 	}
 	
 	/**
@@ -733,8 +760,12 @@ public class Quest
 	 */
 	public final void cancelQuestTimers(String name, Npc npc)
 	{
+		final Map<TimerKey, QuestTimer> timers = _timers.get(name);
+		if (timers == null)
+			return;
+		
 		// Cancel all quest timers with given name and Npc.
-		_timers.stream().filter(qt -> qt.getName().equals(name) && qt.getNpc() == npc).forEach(QuestTimer::cancel);
+		timers.values().stream().filter(qt -> qt.getNpc() == npc).forEach(QuestTimer::cancel);
 	}
 	
 	/**
@@ -744,8 +775,12 @@ public class Quest
 	 */
 	public final void cancelQuestTimers(String name, Player player)
 	{
+		final Map<TimerKey, QuestTimer> timers = _timers.get(name);
+		if (timers == null)
+			return;
+		
 		// Cancel all quest timers with given name and Player.
-		_timers.stream().filter(qt -> qt.getName().equals(name) && qt.getPlayer() == player).forEach(QuestTimer::cancel);
+		timers.values().stream().filter(qt -> qt.getPlayer() == player).forEach(QuestTimer::cancel);
 	}
 	
 	/**
@@ -756,8 +791,10 @@ public class Quest
 	 */
 	public final void cancelQuestTimer(String name, Npc npc, Player player)
 	{
-		// Cancel all quest timers with given name, Npc and Player (only one exists though).
-		_timers.stream().filter(qt -> qt.getName().equals(name) && qt.getNpc() == npc && qt.getPlayer() == player).forEach(QuestTimer::cancel);
+		// Cancel the quest timer with given name, Npc and Player (only one exists).
+		final QuestTimer timer = getQuestTimer(name, npc, player);
+		if (timer != null)
+			timer.cancel();
 	}
 	
 	/**
@@ -770,8 +807,21 @@ public class Quest
 		if (timer == null)
 			return;
 		
-		// Remove timer from the list.
-		_timers.remove(timer);
+		final Map<TimerKey, QuestTimer> timers = _timers.get(timer.getName());
+		if (timers == null)
+			return;
+		
+		// Remove timer from the list, only if it's still the registered one.
+		timers.remove(new TimerKey(timer.getNpc(), timer.getPlayer()), timer);
+	}
+	
+	/**
+	 * @param name : The name of the timer.
+	 * @return The {@link Map} of {@link QuestTimer}s registered under the given name. Maps are kept once created, since a script only uses a limited set of timer names.
+	 */
+	private final Map<TimerKey, QuestTimer> getTimers(String name)
+	{
+		return _timers.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
 	}
 	
 	/**
@@ -2267,4 +2317,35 @@ public class Quest
 	public void onGameTime(int gameTime)
 	{
 	}
+	
+	/**
+	 * The {@link Npc} and {@link Player} pair of a {@link QuestTimer}, compared by identity.
+	 */
+	private static final class TimerKey
+	{
+		private final Npc _npc;
+		private final Player _player;
+		
+		public TimerKey(Npc npc, Player player)
+		{
+			_npc = npc;
+			_player = player;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return 31 * System.identityHashCode(_npc) + System.identityHashCode(_player);
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof TimerKey))
+				return false;
+			
+			final TimerKey key = (TimerKey) obj;
+			return _npc == key._npc && _player == key._player;
+		}
+	}
 }
\ No newline at end of file
@@ -6,17 +6,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Objects;
 
-import net.sf.l2j.commons.data.MemoSet;
 import net.sf.l2j.commons.logging.CLogger;
 import net.sf.l2j.commons.pool.ConnectionPool;
 
 import net.sf.l2j.gameserver.enums.QuestStatus;
 import net.sf.l2j.gameserver.model.actor.Player;
+import net.sf.l2j.gameserver.model.memo.BatchedMemoSet;
 import net.sf.l2j.gameserver.network.serverpackets.ExShowQuestMark;
 import net.sf.l2j.gameserver.network.serverpackets.QuestList;
 
 /**
- * A container holding one {@link Player}'s {@link Quest} progress. It extends {@link MemoSet}.<br>
+ * A container holding one {@link Player}'s {@link Quest} progress. It extends {@link BatchedMemoSet}.<br>
  * <br>
  * The main variables for a {@link QuestState} are :
  * <ul>
@@ -25,7 +25,7 @@ import net.sf.l2j.gameserver.network.serverpackets.QuestList;
  * <li>cond : help server-side to trigger events, help client-side to show the correct {@link Quest} log.</li>
  * </ul>
  */
-public final class QuestState extends MemoSet
+public final class QuestState extends BatchedMemoSet
 {
 	private static final long serialVersionUID = 1L;
 	
@@ -83,40 +83,32 @@ public final class QuestState extends MemoSet
 	}
 	
 	@Override
-	protected void onSet(String key, String value)
+	protected String getSetQuery()
 	{
-		// Set variable to database.
-		try (Connection con = ConnectionPool.getConnection();
-			PreparedStatement ps = con.prepareStatement(QUEST_SET_VAR))
-		{
-			ps.setInt(1, _player.getObjectId());
-			ps.setString(2, _quest.getName());
-			ps.setString(3, key);
-			ps.setString(4, value);
-			ps.executeUpdate();
-		}
-		catch (Exception e)
-		{
-			LOGGER.error("Couldn't set quest {} variable {}.", e, _quest.getName(), key);
-		}
+		return QUEST_SET_VAR;
 	}
 	
 	@Override
-	protected void onUnset(String key)
+	protected String getUnsetQuery()
 	{
-		// Remove variable from database.
-		try (Connection con = ConnectionPool.getConnection();
-			PreparedStatement ps = con.prepareStatement(QUEST_DEL_VAR))
-		{
-			ps.setInt(1, _player.getObjectId());
-			ps.setString(2, _quest.getName());
-			ps.setString(3, key);
-			ps.executeUpdate();
-		}
-		catch (Exception e)
-		{
-			LOGGER.error("Couldn't remove quest {} variable {}.", e, _quest.getName(), key);
-		}
+		return QUEST_DEL_VAR;
+	}
+	
+	@Override
+	protected void setSetParameters(PreparedStatement ps, String key, String value) throws SQLException
+	{
+		ps.setInt(1, _player.getObjectId());
+		ps.setString(2, _quest.getName());
+		ps.setString(3, key);
+		ps.setString(4, value);
+	}
+	
+	@Override
+	protected void setUnsetParameters(PreparedStatement ps, String key) throws SQLException
+	{
+		ps.setInt(1, _player.getObjectId());
+		ps.setString(2, _quest.getName());
+		ps.setString(3, key);
 	}
 	
 	@Override
@@ -344,8 +336,9 @@ public final class QuestState extends MemoSet
 		if (!isStarted())
 			return;
 		
-		// Remove quest variables.
+		// Remove quest variables. Pending variables are dropped, since related rows are deleted below.
 		clear();
+		discardChanges();
 		
 		// Remove/Complete quest.
 		if (repeatable)
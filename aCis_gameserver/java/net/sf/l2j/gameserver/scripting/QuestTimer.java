@@ -1,9 +1,9 @@
 package net.sf.l2j.gameserver.scripting;
 
 import java.util.Objects;
-import java.util.concurrent.ScheduledFuture;
 
 import net.sf.l2j.commons.pool.ThreadPool;
+import net.sf.l2j.commons.pool.Timeout;
 
 import net.sf.l2j.gameserver.model.actor.Npc;
 import net.sf.l2j.gameserver.model.actor.Player;
@@ -15,19 +15,37 @@ public class QuestTimer
 	private final Npc _npc;
 	private final Player _player;
 	
-	private ScheduledFuture<?> _schedular;
+	// Written by the starting thread, read by cancelling threads.
+	private volatile Timeout _schedular;
+	private volatile boolean _isCancelled;
 	
-	QuestTimer(Quest quest, String name, Npc npc, Player player, long initial, long period)
+	QuestTimer(Quest quest, String name, Npc npc, Player player)
 	{
 		_quest = quest;
 		_name = name;
 		_npc = npc;
 		_player = player;
+	}
+	
+	/**
+	 * Schedule the {@link QuestTimer} on the shared timer wheel.
+	 * @param initial : Time in milliseconds to fire the timer (initially).
+	 * @param period : Time in milliseconds to fire the timer repeatedly after initial tick (optional, can be 0).
+	 * @return True if the timer has been scheduled, false otherwise.
+	 */
+	final boolean start(long initial, long period)
+	{
+		final Timeout schedular = (period > 0) ? ThreadPool.scheduleTimerAtFixedRate(this::runTick, initial, period) : ThreadPool.scheduleTimer(this::runOnce, initial);
+		if (schedular == null)
+			return false;
+		
+		_schedular = schedular;
 		
-		if (period > 0)
-			_schedular = ThreadPool.scheduleAtFixedRate(this::runTick, initial, period);
-		else
-			_schedular = ThreadPool.schedule(this::runOnce, initial);
+		// The timer was cancelled while being scheduled, before the Timeout was published : cancel it now.
+		if (_isCancelled)
+			schedular.cancel();
+		
+		return true;
 	}
 	
 	@Override
@@ -102,11 +120,12 @@ public class QuestTimer
 	 */
 	public final void cancel()
 	{
-		if (_schedular != null)
-		{
-			_schedular.cancel(false);
-			_schedular = null;
-		}
+		// Flag first : a concurrent start() either sees the flag, or has published its Timeout.
+		_isCancelled = true;
+		
+		final Timeout schedular = _schedular;
+		if (schedular != null)
+			schedular.cancel();
 		
 		_quest.removeQuestTimer(this);
 	}
@@ -417,7 +417,7 @@ public class Baium extends AttackableAIScript
 		final int chance = Rnd.get(100);
 		
 		// If Baium feels surrounded or see 2+ angels, he unleashes his wrath upon heads :).
-		if (getPlayersCountInRadius(600, npc, false) >= 20 || npc.getKnownTypeInRadius(Monster.class, 600).size() >= 2)
+		if (getPlayersCountInRadius(600, npc, false) >= 20 || npc.countKnownInRadius(Monster.class, 600) >= 2)
 		{
 			if (chance < 25)
 				skill = 4130;
@@ -3,8 +3,6 @@ package net.sf.l2j.gameserver.skills;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import net.sf.l2j.commons.pool.ThreadPool;
 
@@ -23,6 +21,7 @@ import net.sf.l2j.gameserver.network.serverpackets.SystemMessage;
 import net.sf.l2j.gameserver.skills.basefuncs.Func;
 import net.sf.l2j.gameserver.skills.basefuncs.FuncTemplate;
 import net.sf.l2j.gameserver.skills.effects.EffectTemplate;
+import net.sf.l2j.gameserver.taskmanager.EffectTaskManager;
 
 public abstract class AbstractEffect
 {
@@ -42,7 +41,10 @@ public abstract class AbstractEffect
 	private boolean _isSelfEffect;
 	private boolean _cantUpdateAnymore;
 	
-	private ScheduledFuture<?> _currentFuture;
+	// The effect clock task : existence, next execution time and period (0 if executed once).
+	private volatile boolean _hasTask;
+	private volatile long _taskTime;
+	private long _taskPeriod;
 	
 	private boolean _inUse = false;
 	private boolean _startConditionsCorrect = true;
@@ -189,10 +191,12 @@ public abstract class AbstractEffect
 			stopEffectTask();
 			
 			final int initialDelay = Math.max((_period - getTime()) * 1000, 5);
-			if (_count > 1)
-				_currentFuture = ThreadPool.scheduleAtFixedRate(this::startEffect, initialDelay, _period * 1000L);
-			else
-				_currentFuture = ThreadPool.schedule(this::startEffect, initialDelay);
+			
+			_taskPeriod = (_count > 1) ? _period * 1000L : 0;
+			_taskTime = System.currentTimeMillis() + initialDelay;
+			_hasTask = true;
+			
+			EffectTaskManager.getInstance().add(this, EffectTaskManager.getBucket(_taskTime));
 		}
 		
 		if (_state == EffectState.ACTING)
@@ -211,6 +215,32 @@ public abstract class AbstractEffect
 		scheduleEffect();
 	}
 	
+	/**
+	 * Run the effect clock task of this {@link AbstractEffect}. A periodic task is scheduled again prior to run, as a fixed-rate task.<br>
+	 * <br>
+	 * The effect action itself is handed off to the {@link ThreadPool}, so a costly effect doesn't delay other effects of the same tick.
+	 * @param bucket : The {@link EffectTaskManager} bucket the task was stored in.
+	 * @return True if the task has been run, or false if it was stopped or rescheduled meanwhile.
+	 */
+	public final boolean runTask(long bucket)
+	{
+		synchronized (this)
+		{
+			if (!_hasTask || EffectTaskManager.getBucket(_taskTime) != bucket)
+				return false;
+			
+			if (_taskPeriod > 0)
+			{
+				_taskTime += _taskPeriod;
+				
+				EffectTaskManager.getInstance().add(this, EffectTaskManager.getBucket(_taskTime));
+			}
+		}
+		
+		ThreadPool.execute(this::startEffect);
+		return true;
+	}
+	
 	public final void exit()
 	{
 		exit(false);
@@ -227,10 +257,11 @@ public abstract class AbstractEffect
 	
 	public final synchronized void stopEffectTask()
 	{
-		if (_currentFuture != null)
+		if (_hasTask)
 		{
-			_currentFuture.cancel(false);
-			_currentFuture = null;
+			_hasTask = false;
+			
+			EffectTaskManager.getInstance().remove(this, EffectTaskManager.getBucket(_taskTime));
 			
 			if (isSelfEffectType() && getEffector() != null)
 				getEffector().removeEffect(this);
@@ -318,8 +349,8 @@ public abstract class AbstractEffect
 				if (_count == 0 && _template.showIcon() && getEffected() instanceof Player)
 					getEffected().sendPacket(SystemMessage.getSystemMessage(SystemMessageId.S1_HAS_WORN_OFF).addSkillName(_skill));
 				
-				// if task is null - stopEffectTask does not remove effect.
-				if (_currentFuture == null && getEffected() != null)
+				// if there is no task - stopEffectTask does not remove effect.
+				if (!_hasTask && getEffected() != null)
 					getEffected().removeEffect(this);
 				
 				// Stop the task, remove it and update icon.
@@ -353,12 +384,11 @@ public abstract class AbstractEffect
 		if (_state != EffectState.ACTING)
 			return;
 		
-		final ScheduledFuture<?> future = _currentFuture;
 		if (_template.getCounter() > 1)
 			asu.addEffect(_skill, (_template.getCounter() * _period - getTaskTime()) * 1000);
 		
-		else if (future != null)
-			asu.addEffect(_skill, (int) future.getDelay(TimeUnit.MILLISECONDS));
+		else if (_hasTask)
+			asu.addEffect(_skill, getTaskDelay());
 		else if (_period == -1)
 			asu.addEffect(_skill, _period);
 	}
@@ -368,9 +398,8 @@ public abstract class AbstractEffect
 		if (_state != EffectState.ACTING)
 			return;
 		
-		final ScheduledFuture<?> future = _currentFuture;
-		if (future != null)
-			ps.addEffect(_skill, (int) future.getDelay(TimeUnit.MILLISECONDS));
+		if (_hasTask)
+			ps.addEffect(_skill, getTaskDelay());
 		else if (_period == -1)
 			ps.addEffect(_skill, _period);
 	}
@@ -380,13 +409,20 @@ public abstract class AbstractEffect
 		if (_state != EffectState.ACTING)
 			return;
 		
-		final ScheduledFuture<?> future = _currentFuture;
-		if (future != null)
-			eosi.addEffect(_skill, (int) future.getDelay(TimeUnit.MILLISECONDS));
+		if (_hasTask)
+			eosi.addEffect(_skill, getTaskDelay());
 		else if (_period == -1)
 			eosi.addEffect(_skill, _period);
 	}
 	
+	/**
+	 * @return The remaining time before the next effect clock task execution, in milliseconds.
+	 */
+	private int getTaskDelay()
+	{
+		return (int) (_taskTime - System.currentTimeMillis());
+	}
+	
 	/**
 	 * @return The EffectFlag mask for this {@link AbstractEffect}.
 	 */
@@ -17,7 +17,7 @@ public final class Calculator
 {
 	private static final Func[] EMPTY_FUNCS = new Func[0];
 	
-	private Func[] _functions = EMPTY_FUNCS;
+	private volatile Func[] _functions = EMPTY_FUNCS;
 	
 	public Calculator()
 	{
@@ -36,6 +36,29 @@ public final class Calculator
 		return _functions.length;
 	}
 	
+	/**
+	 * The returned array is never edited : any modification of the {@link Calculator} replaces it. It can therefore be used as a version of the {@link Func} set.
+	 * @return the current array of {@link Func}s.
+	 */
+	public Func[] getFunctions()
+	{
+		return _functions;
+	}
+	
+	/**
+	 * @param funcs : The array of {@link Func}s to test.
+	 * @return true if no {@link Func} depends on a target or a {@link L2Skill}, meaning the result can be cached by the owning {@link Creature}.
+	 */
+	public static boolean isCacheable(Func[] funcs)
+	{
+		for (Func func : funcs)
+		{
+			if (!func.isCacheable())
+				return false;
+		}
+		return true;
+	}
+	
 	/**
 	 * Adds a {@link Func} to the {@link Calculator}.
 	 * @param function : The {@link Func} to add.
@@ -81,4 +81,13 @@ public abstract class Func
 	{
 		return _condition;
 	}
+	
+	/**
+	 * A {@link Func} is cacheable if its result only depends on the effector state. Any {@link Condition} may test the target, the skill or a volatile state (HP, game time...), and therefore prevents caching.
+	 * @return true if the result of this {@link Func} can be cached, false otherwise.
+	 */
+	public boolean isCacheable()
+	{
+		return _condition == null;
+	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package net.sf.l2j.gameserver.skills.effects;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -41,7 +42,7 @@ public class EffectCancel extends AbstractEffect
 		final double res = Formulas.calcSkillVulnerability(getEffector(), getEffected(), getSkill(), getTemplate().getEffectType());
 		rate *= res;
 		
-		final List<AbstractEffect> list = Arrays.asList(getEffected().getAllEffects());
+		final List<AbstractEffect> list = new ArrayList<>(Arrays.asList(getEffected().getAllEffects()));
 		Collections.shuffle(list);
 		
 		for (AbstractEffect effect : list)
@@ -89,7 +89,7 @@ public class L2SkillSiegeFlag extends L2Skill
 			sm = SystemMessage.getSystemMessage(SystemMessageId.NOT_ANOTHER_HEADQUARTERS);
 		else if (!player.isInsideZone(ZoneId.HQ))
 			sm = SystemMessage.getSystemMessage(SystemMessageId.NOT_SET_UP_BASE_HERE);
-		else if (!player.getKnownTypeInRadius(SiegeFlag.class, 400).isEmpty())
+		else if (player.anyKnownInRadius(SiegeFlag.class, 400))
 			sm = SystemMessage.getSystemMessage(SystemMessageId.HEADQUARTERS_TOO_CLOSE);
 		
 		if (sm != null && !isCheckOnly)
@@ -0,0 +1,197 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.gameserver.model.actor.Attackable;
+import net.sf.l2j.gameserver.model.actor.ai.type.AttackableAI;
+
+/**
+ * Runs the think loop of all active {@link AttackableAI}s.<br>
+ * <br>
+ * AIs are dispatched on a time wheel of {@link #SLOTS} slots, covering {@link #AI_PERIOD} ms. Each slot is split into stripes (one per available processor), and each stripe is processed in a single pass on the instant pool. Both slot and stripe are computed using the {@link Attackable} objectId.
+ */
+public final class AiTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(AiTaskManager.class.getName());
+	
+	public static final int AI_PERIOD = 1000;
+	
+	private static final int SLOTS = 10;
+	
+	private final Stripe[][] _wheel;
+	
+	private final AtomicLong _runs = new AtomicLong();
+	private final AtomicLong _rotationWorstLatency = new AtomicLong();
+	private final AtomicLong _worstLatency = new AtomicLong();
+	private final AtomicLong _overruns = new AtomicLong();
+	
+	private int _slotIndex;
+	
+	private volatile long _lastRotationRuns;
+	private volatile long _lastRotationWorstLatency;
+	
+	protected AiTaskManager()
+	{
+		final int stripes = Runtime.getRuntime().availableProcessors();
+		
+		_wheel = new Stripe[SLOTS][stripes];
+		for (int i = 0; i < SLOTS; i++)
+		{
+			for (int j = 0; j < stripes; j++)
+				_wheel[i][j] = new Stripe();
+		}
+		
+		// Run a slot every 100ms, so the whole wheel is covered every second.
+		ThreadPool.scheduleAtFixedRate(this, AI_PERIOD / SLOTS, AI_PERIOD / SLOTS);
+	}
+	
+	@Override
+	public final void run()
+	{
+		final int index = _slotIndex;
+		
+		// A complete rotation happened, refresh statistics.
+		if (index == 0)
+		{
+			_lastRotationRuns = _runs.getAndSet(0);
+			_lastRotationWorstLatency = _rotationWorstLatency.getAndSet(0);
+		}
+		
+		_slotIndex = (index + 1) % SLOTS;
+		
+		final long time = System.nanoTime();
+		
+		for (Stripe stripe : _wheel[index])
+		{
+			// Stripe is empty, skip.
+			if (stripe._ais.isEmpty())
+				continue;
+			
+			// Previous pass of this stripe is still running, skip it.
+			if (!stripe._isRunning.compareAndSet(false, true))
+			{
+				_overruns.incrementAndGet();
+				continue;
+			}
+			
+			stripe._dispatchTime = time;
+			
+			ThreadPool.execute(stripe);
+		}
+	}
+	
+	/**
+	 * Add an {@link AttackableAI} to the {@link AiTaskManager}. Adding an already registered AI has no effect.
+	 * @param ai : The AttackableAI to add.
+	 */
+	public final void add(AttackableAI ai)
+	{
+		getStripe(ai)._ais.add(ai);
+	}
+	
+	/**
+	 * Remove an {@link AttackableAI} from the {@link AiTaskManager}.
+	 * @param ai : The AttackableAI to remove.
+	 */
+	public final void remove(AttackableAI ai)
+	{
+		getStripe(ai)._ais.remove(ai);
+	}
+	
+	/**
+	 * @return the amount of registered {@link AttackableAI}s.
+	 */
+	public final int getAiCount()
+	{
+		int count = 0;
+		for (Stripe[] slot : _wheel)
+		{
+			for (Stripe stripe : slot)
+				count += stripe._ais.size();
+		}
+		return count;
+	}
+	
+	/**
+	 * @return AI statistics, such as registered AIs, AI ticks per second and worst slot latency.
+	 */
+	public final List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("AI: slots=" + SLOTS + " stripes=" + _wheel[0].length + " ais=" + getAiCount() + " overruns=" + _overruns.get());
+		list.add("AI ticks/sec=" + _lastRotationRuns * 1000 / AI_PERIOD + " worst slot latency: last=" + String.format("%1.2f", _lastRotationWorstLatency / 1000000.) + "ms max=" + String.format("%1.2f", _worstLatency.get() / 1000000.) + "ms");
+		return list;
+	}
+	
+	private Stripe getStripe(AttackableAI ai)
+	{
+		final int objectId = ai.getActor().getObjectId();
+		final int stripes = _wheel[0].length;
+		
+		return _wheel[(objectId / stripes) % SLOTS][objectId % stripes];
+	}
+	
+	/**
+	 * A group of {@link AttackableAI}s sharing the same slot, processed in a single pass.
+	 */
+	private final class Stripe implements Runnable
+	{
+		private final Set<AttackableAI> _ais = ConcurrentHashMap.newKeySet();
+		private final AtomicBoolean _isRunning = new AtomicBoolean();
+		
+		private volatile long _dispatchTime;
+		
+		protected Stripe()
+		{
+		}
+		
+		@Override
+		public final void run()
+		{
+			try
+			{
+				int runs = 0;
+				for (AttackableAI ai : _ais)
+				{
+					try
+					{
+						ai.run();
+					}
+					catch (Exception e)
+					{
+						LOGGER.error("Couldn't run AI of {}.", e, ai.getActor());
+					}
+					runs++;
+				}
+				
+				final long latency = System.nanoTime() - _dispatchTime;
+				
+				_runs.addAndGet(runs);
+				_rotationWorstLatency.accumulateAndGet(latency, Math::max);
+				_worstLatency.accumulateAndGet(latency, Math::max);
+			}
+			finally
+			{
+				_isRunning.set(false);
+			}
+		}
+	}
+	
+	public static final AiTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final AiTaskManager INSTANCE = new AiTaskManager();
+	}
+}
\ No newline at end of file
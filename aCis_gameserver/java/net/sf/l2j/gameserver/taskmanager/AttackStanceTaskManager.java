@@ -1,8 +1,5 @@
 package net.sf.l2j.gameserver.taskmanager;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import net.sf.l2j.commons.pool.ThreadPool;
 
 import net.sf.l2j.gameserver.model.actor.Creature;
@@ -19,7 +16,7 @@ public final class AttackStanceTaskManager implements Runnable
 {
 	private static final long ATTACK_STANCE_PERIOD = 15000; // 15 seconds
 	
-	private final Map<Creature, Long> _creatures = new ConcurrentHashMap<>();
+	private final ExpiringSet<Creature> _creatures = new ExpiringSet<>();
 	
 	protected AttackStanceTaskManager()
 	{
@@ -34,19 +31,9 @@ public final class AttackStanceTaskManager implements Runnable
 		if (_creatures.isEmpty())
 			return;
 		
-		// Get current time.
-		final long time = System.currentTimeMillis();
-		
-		// Loop all characters.
-		for (Map.Entry<Creature, Long> entry : _creatures.entrySet())
+		// Loop expired characters.
+		_creatures.expire(System.currentTimeMillis(), creature ->
 		{
-			// Time hasn't passed yet, skip.
-			if (time < entry.getValue())
-				continue;
-			
-			// Get character.
-			final Creature creature = entry.getKey();
-			
 			// Stop character attack stance animation.
 			creature.broadcastPacket(new AutoAttackStop(creature.getObjectId()));
 			
@@ -57,10 +44,7 @@ public final class AttackStanceTaskManager implements Runnable
 				if (summon != null)
 					summon.broadcastPacket(new AutoAttackStop(summon.getObjectId()));
 			}
-			
-			// Remove task.
-			_creatures.remove(creature);
-		}
+		});
 	}
 	
 	/**
@@ -88,7 +72,7 @@ public final class AttackStanceTaskManager implements Runnable
 		if (creature instanceof Summon)
 			creature = creature.getActingPlayer();
 		
-		return _creatures.remove(creature) != null;
+		return _creatures.remove(creature);
 	}
 	
 	/**
@@ -100,7 +84,7 @@ public final class AttackStanceTaskManager implements Runnable
 		if (creature instanceof Summon)
 			creature = creature.getActingPlayer();
 		
-		return _creatures.containsKey(creature);
+		return _creatures.contains(creature);
 	}
 	
 	public static final AttackStanceTaskManager getInstance()
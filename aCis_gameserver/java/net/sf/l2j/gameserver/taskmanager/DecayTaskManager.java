@@ -1,8 +1,5 @@
 package net.sf.l2j.gameserver.taskmanager;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import net.sf.l2j.commons.pool.ThreadPool;
 
 import net.sf.l2j.gameserver.model.actor.Creature;
@@ -14,7 +11,7 @@ import net.sf.l2j.gameserver.model.actor.instance.Monster;
  */
 public final class DecayTaskManager implements Runnable
 {
-	private final Map<Creature, Long> _creatures = new ConcurrentHashMap<>();
+	private final ExpiringSet<Creature> _creatures = new ExpiringSet<>();
 	
 	protected DecayTaskManager()
 	{
@@ -29,31 +26,16 @@ public final class DecayTaskManager implements Runnable
 		if (_creatures.isEmpty())
 			return;
 		
-		// Get current time.
-		final long time = System.currentTimeMillis();
-		
-		// Loop all characters.
-		for (Map.Entry<Creature, Long> entry : _creatures.entrySet())
+		// Loop expired characters.
+		_creatures.expire(System.currentTimeMillis(), creature ->
 		{
-			final Creature creature = entry.getKey();
-			
 			// If decayed creature is a Summon, check if he is still linked to its owner. If not, decay task is canceled.
 			if (creature instanceof Summon && ((Summon) creature).getOwner().getSummon() != creature)
-			{
-				_creatures.remove(creature);
-				continue;
-			}
-			
-			// Time hasn't passed yet, skip.
-			if (time < entry.getValue())
-				continue;
+				return;
 			
 			// Decay the Creature.
 			creature.onDecay();
-			
-			// Remove the entry.
-			_creatures.remove(creature);
-		}
+		});
 	}
 	
 	/**
@@ -73,7 +55,7 @@ public final class DecayTaskManager implements Runnable
 				interval *= 2;
 		}
 		
-		_creatures.put(creature, System.currentTimeMillis() + interval * 1000);
+		_creatures.put(creature, System.currentTimeMillis() + interval * 1000L);
 	}
 	
 	/**
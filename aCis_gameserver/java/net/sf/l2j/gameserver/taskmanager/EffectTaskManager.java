@@ -0,0 +1,184 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.gameserver.skills.AbstractEffect;
+
+/**
+ * The effect clock, owning the timers of all active {@link AbstractEffect}s.<br>
+ * <br>
+ * Effects are stored in buckets of {@link #TICK} ms, based on their next execution time. Every tick, due buckets are detached and their effects are rescheduled in a single pass, their actions being handed off to the {@link ThreadPool}. A stopped or rescheduled effect is simply dropped from its bucket, so the amount of scheduled tasks no longer depends on the amount of effects.<br>
+ * <br>
+ * A bucket holds effects due within its {@link #TICK} ms, and is run once its end is reached : an effect is never run early, and at most one tick late.
+ */
+public final class EffectTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(EffectTaskManager.class.getName());
+	
+	public static final int TICK = 100;
+	
+	private final TreeMap<Long, Set<AbstractEffect>> _buckets = new TreeMap<>();
+	
+	private int _size;
+	
+	// statistics
+	private long _ticks;
+	private long _runs;
+	private long _lastRuns;
+	private long _maxRuns;
+	private long _lastTime;
+	private long _maxTime;
+	private long _totalTime;
+	
+	protected EffectTaskManager()
+	{
+		ThreadPool.scheduleAtFixedRate(this, TICK, TICK);
+	}
+	
+	@Override
+	public final void run()
+	{
+		final long start = System.nanoTime();
+		final long now = System.currentTimeMillis();
+		
+		// Detach all due buckets.
+		final List<Map.Entry<Long, Set<AbstractEffect>>> buckets = new ArrayList<>();
+		synchronized (_buckets)
+		{
+			Map.Entry<Long, Set<AbstractEffect>> entry;
+			while ((entry = _buckets.firstEntry()) != null && entry.getKey() * TICK <= now)
+			{
+				_buckets.pollFirstEntry();
+				_size -= entry.getValue().size();
+				
+				buckets.add(entry);
+			}
+		}
+		
+		int runs = 0;
+		
+		// Run effects. An effect stopped or rescheduled meanwhile ignores the call.
+		for (Map.Entry<Long, Set<AbstractEffect>> bucket : buckets)
+		{
+			for (AbstractEffect effect : bucket.getValue())
+			{
+				try
+				{
+					if (effect.runTask(bucket.getKey()))
+						runs++;
+				}
+				catch (Exception e)
+				{
+					LOGGER.error("Couldn't run {} effect task.", e, effect);
+				}
+			}
+		}
+		
+		final long time = System.nanoTime() - start;
+		
+		synchronized (this)
+		{
+			_ticks++;
+			_runs += runs;
+			_lastRuns = runs;
+			_lastTime = time;
+			_totalTime += time;
+			if (runs > _maxRuns)
+				_maxRuns = runs;
+			if (time > _maxTime)
+				_maxTime = time;
+		}
+	}
+	
+	/**
+	 * @param time : The time, in milliseconds.
+	 * @return the key of the first bucket ending at or after the given time.
+	 */
+	public static final long getBucket(long time)
+	{
+		return (time + TICK - 1) / TICK;
+	}
+	
+	/**
+	 * Schedule an {@link AbstractEffect} on the given bucket.
+	 * @param effect : The AbstractEffect to schedule.
+	 * @param bucket : The bucket key, as returned by {@link #getBucket(long)}.
+	 */
+	public final void add(AbstractEffect effect, long bucket)
+	{
+		synchronized (_buckets)
+		{
+			if (_buckets.computeIfAbsent(bucket, k -> new HashSet<>()).add(effect))
+				_size++;
+		}
+	}
+	
+	/**
+	 * Unschedule an {@link AbstractEffect} from the given bucket.
+	 * @param effect : The AbstractEffect to unschedule.
+	 * @param bucket : The bucket key, as returned by {@link #getBucket(long)}.
+	 */
+	public final void remove(AbstractEffect effect, long bucket)
+	{
+		synchronized (_buckets)
+		{
+			final Set<AbstractEffect> effects = _buckets.get(bucket);
+			if (effects == null || !effects.remove(effect))
+				return;
+			
+			_size--;
+			
+			if (effects.isEmpty())
+				_buckets.remove(bucket);
+		}
+	}
+	
+	/**
+	 * @return the amount of scheduled {@link AbstractEffect}s.
+	 */
+	public final int getSize()
+	{
+		synchronized (_buckets)
+		{
+			return _size;
+		}
+	}
+	
+	/**
+	 * @return effect clock statistics, such as scheduled effects, effects run per tick and tick cost.
+	 */
+	public final List<String> getStats()
+	{
+		final int buckets;
+		synchronized (_buckets)
+		{
+			buckets = _buckets.size();
+		}
+		
+		final List<String> list = new ArrayList<>();
+		synchronized (this)
+		{
+			list.add("Effect clock: tick=" + TICK + "ms scheduled=" + getSize() + " buckets=" + buckets + " ticks=" + _ticks);
+			list.add("Effect runs: last=" + _lastRuns + " max=" + _maxRuns + " avg=" + String.format("%1.2f", (_ticks == 0) ? 0. : (double) _runs / _ticks) + " time: last=" + String.format("%1.2f", _lastTime / 1000000.) + "ms max=" + String.format("%1.2f", _maxTime / 1000000.) + "ms avg=" + String.format("%1.2f", (_ticks == 0) ? 0. : _totalTime / 1000000. / _ticks) + "ms");
+		}
+		return list;
+	}
+	
+	public static final EffectTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final EffectTaskManager INSTANCE = new EffectTaskManager();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import net.sf.l2j.commons.logging.CLogger;
+
+/**
+ * A set of elements associated to an expiration time, shared by task managers.<br>
+ * <br>
+ * Elements are stored in buckets of {@link #BUCKET} ms, based on their expiration time. Expiring elements only polls due buckets, so the cost of a tick depends on the amount of expired elements rather than on the amount of tracked elements. An element is never expired before its expiration time, and at most one bucket late.<br>
+ * <br>
+ * Elements with an expiration time of 0 are tracked, but never expire.
+ * @param <T> : The type of tracked elements.
+ */
+public final class ExpiringSet<T>
+{
+	private static final CLogger LOGGER = new CLogger(ExpiringSet.class.getName());
+	
+	public static final int BUCKET = 1000;
+	
+	private final Map<T, Long> _times = new ConcurrentHashMap<>();
+	private final TreeMap<Long, Set<T>> _buckets = new TreeMap<>();
+	
+	/**
+	 * Add or reschedule an element.
+	 * @param element : The element to add.
+	 * @param time : The expiration time, in milliseconds, or 0 if it never expires.
+	 */
+	public void put(T element, long time)
+	{
+		synchronized (_buckets)
+		{
+			final Long oldTime = _times.put(element, time);
+			if (oldTime != null)
+				removeFromBucket(element, oldTime);
+			
+			if (time > 0)
+				_buckets.computeIfAbsent(getBucket(time), k -> new HashSet<>()).add(element);
+		}
+	}
+	
+	/**
+	 * @param element : The element to remove.
+	 * @return true if the element was tracked.
+	 */
+	public boolean remove(T element)
+	{
+		synchronized (_buckets)
+		{
+			final Long oldTime = _times.remove(element);
+			if (oldTime == null)
+				return false;
+			
+			removeFromBucket(element, oldTime);
+			return true;
+		}
+	}
+	
+	/**
+	 * @param element : The element to test.
+	 * @return true if the element is tracked.
+	 */
+	public boolean contains(T element)
+	{
+		return _times.containsKey(element);
+	}
+	
+	/**
+	 * @param element : The element to test.
+	 * @return the expiration time of the element, or null if it isn't tracked.
+	 */
+	public Long get(T element)
+	{
+		return _times.get(element);
+	}
+	
+	/**
+	 * @return a read-only view of tracked elements and their expiration time.
+	 */
+	public Map<T, Long> getTimes()
+	{
+		return Collections.unmodifiableMap(_times);
+	}
+	
+	public int size()
+	{
+		return _times.size();
+	}
+	
+	public boolean isEmpty()
+	{
+		return _times.isEmpty();
+	}
+	
+	/**
+	 * Remove all elements expired at the given time, then run the given action on them, outside of any lock.
+	 * @param time : The current time, in milliseconds.
+	 * @param action : The action to run on each expired element.
+	 * @return the amount of expired elements.
+	 */
+	public int expire(long time, Consumer<T> action)
+	{
+		List<T> expired = null;
+		
+		synchronized (_buckets)
+		{
+			Map.Entry<Long, Set<T>> entry;
+			while ((entry = _buckets.firstEntry()) != null && entry.getKey() * BUCKET <= time)
+			{
+				_buckets.pollFirstEntry();
+				
+				if (expired == null)
+					expired = new ArrayList<>();
+				
+				for (T element : entry.getValue())
+				{
+					_times.remove(element);
+					expired.add(element);
+				}
+			}
+		}
+		
+		// Nothing expired, skip.
+		if (expired == null)
+			return 0;
+		
+		// An element failing its action doesn't prevent others to expire.
+		for (T element : expired)
+		{
+			try
+			{
+				action.accept(element);
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Couldn't expire {}.", e, element);
+			}
+		}
+		
+		return expired.size();
+	}
+	
+	/**
+	 * @param time : The time, in milliseconds.
+	 * @return the key of the first bucket ending at or after the given time.
+	 */
+	private static long getBucket(long time)
+	{
+		return (time + BUCKET - 1) / BUCKET;
+	}
+	
+	private void removeFromBucket(T element, long time)
+	{
+		if (time <= 0)
+			return;
+		
+		final long bucket = getBucket(time);
+		
+		final Set<T> elements = _buckets.get(bucket);
+		if (elements == null || !elements.remove(element))
+			return;
+		
+		if (elements.isEmpty())
+			_buckets.remove(bucket);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ConnectionPool;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.Config;
+import net.sf.l2j.gameserver.enums.items.ItemState;
+import net.sf.l2j.gameserver.model.item.instance.ItemInstance;
+
+/**
+ * Write-behind persistence of {@link ItemInstance}s.<br>
+ * <br>
+ * Items to update are queued by objectId, so an item modified several times between two flushes is written only once, with its latest values. The queue is flushed using JDBC batches every {@link Config#ITEM_UPDATE_INTERVAL} ms and on server shutdown. Items of a {@link net.sf.l2j.gameserver.model.actor.Player} are also flushed on its logout.
+ */
+public final class ItemUpdateTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(ItemUpdateTaskManager.class.getName());
+	
+	private final Map<Integer, ItemInstance> _items = new ConcurrentHashMap<>();
+	
+	// statistics
+	private long _flushes;
+	private long _rows;
+	private long _failures;
+	private long _maxRows;
+	private long _lastRows;
+	private long _lastTime;
+	private long _maxTime;
+	private long _totalTime;
+	
+	protected ItemUpdateTaskManager()
+	{
+		// Run task at the configured interval.
+		if (Config.ITEM_UPDATE_INTERVAL > 0)
+			ThreadPool.scheduleAtFixedRate(this, Config.ITEM_UPDATE_INTERVAL, Config.ITEM_UPDATE_INTERVAL);
+	}
+	
+	@Override
+	public final void run()
+	{
+		flush();
+	}
+	
+	/**
+	 * Queue an {@link ItemInstance} to be stored on next flush. Queuing an already queued item has no effect.
+	 * @param item : The ItemInstance to store.
+	 */
+	public final void add(ItemInstance item)
+	{
+		final ItemInstance previous = _items.putIfAbsent(item.getObjectId(), item);
+		if (previous == null || previous == item)
+			return;
+		
+		// The objectId was released and reused by another item, before the previous item was stored. Store it first, to keep operations ordered.
+		flush();
+		
+		_items.put(item.getObjectId(), item);
+	}
+	
+	/**
+	 * @return the amount of queued {@link ItemInstance}s.
+	 */
+	public final int getQueueSize()
+	{
+		return _items.size();
+	}
+	
+	/**
+	 * Store all queued {@link ItemInstance}s, using one batch per statement type.
+	 */
+	public final synchronized void flush()
+	{
+		// Queue is empty, skip.
+		if (_items.isEmpty())
+			return;
+		
+		// Retrieve queued items. Items queued again during the flush are stored with their latest values, either now or on next flush.
+		final List<ItemInstance> items = new ArrayList<>(_items.size());
+		
+		final Iterator<ItemInstance> iterator = _items.values().iterator();
+		while (iterator.hasNext())
+		{
+			items.add(iterator.next());
+			iterator.remove();
+		}
+		
+		store(items);
+	}
+	
+	/**
+	 * Store queued {@link ItemInstance}s owned by a {@link net.sf.l2j.gameserver.model.actor.Player}, using one batch per statement type. Other items are left for the next flush.<br>
+	 * <br>
+	 * Used on logout, so its items are up-to-date in database once the player relogs, without waiting for (nor storing) other players' items.
+	 * @param ownerId : The objectId of the owner.
+	 */
+	public final void flush(int ownerId)
+	{
+		final List<ItemInstance> items = new ArrayList<>();
+		
+		for (ItemInstance item : _items.values())
+		{
+			if (item.getOwnerId() == ownerId && _items.remove(item.getObjectId(), item))
+				items.add(item);
+		}
+		
+		// No item is queued for that owner, skip.
+		if (items.isEmpty())
+			return;
+		
+		store(items);
+	}
+	
+	/**
+	 * Store {@link ItemInstance}s retrieved from the queue, as a single transaction. If it fails, items are stored one by one.
+	 * @param items : The ItemInstances to store.
+	 */
+	private void store(List<ItemInstance> items)
+	{
+		final long start = System.nanoTime();
+		
+		final ItemState[] states = new ItemState[items.size()];
+		
+		int rows = 0;
+		
+		boolean isStored = false;
+		
+		try (Connection con = ConnectionPool.getConnection())
+		{
+			// All batches are stored as a single transaction : if one of them fails, none of them is stored.
+			con.setAutoCommit(false);
+			
+			try (PreparedStatement insert = con.prepareStatement(ItemInstance.INSERT_ITEM);
+				PreparedStatement update = con.prepareStatement(ItemInstance.UPDATE_ITEM);
+				PreparedStatement delete = con.prepareStatement(ItemInstance.DELETE_ITEM);
+				PreparedStatement deleteAugmentation = con.prepareStatement(ItemInstance.DELETE_AUGMENTATION))
+			{
+				for (int i = 0; i < states.length; i++)
+				{
+					states[i] = items.get(i).addToBatch(insert, update, delete, deleteAugmentation);
+					if (states[i] != ItemState.UNCHANGED)
+						rows++;
+				}
+				
+				insert.executeBatch();
+				update.executeBatch();
+				delete.executeBatch();
+				deleteAugmentation.executeBatch();
+				
+				con.commit();
+				isStored = true;
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Couldn't store {} items as a batch, storing them one by one.", e, items.size());
+				
+				con.rollback();
+			}
+			finally
+			{
+				con.setAutoCommit(true);
+			}
+		}
+		catch (Exception e)
+		{
+			LOGGER.error("Couldn't store the items batch.", e);
+		}
+		
+		if (isStored)
+		{
+			for (int i = 0; i < states.length; i++)
+				items.get(i).onBatchStored(states[i]);
+		}
+		else
+		{
+			// Nothing was committed : revert flags of batched items, and store them using single statements.
+			for (int i = 0; i < states.length; i++)
+			{
+				final ItemInstance item = items.get(i);
+				
+				if (states[i] != null)
+					item.onBatchFailed(states[i]);
+				
+				item.updateDatabaseNow();
+			}
+		}
+		
+		onStored(rows, System.nanoTime() - start, isStored);
+	}
+	
+	private synchronized void onStored(int rows, long time, boolean isStored)
+	{
+		if (!isStored)
+			_failures++;
+		
+		_flushes++;
+		_rows += rows;
+		_lastRows = rows;
+		_lastTime = time;
+		_totalTime += time;
+		if (rows > _maxRows)
+			_maxRows = rows;
+		if (time > _maxTime)
+			_maxTime = time;
+	}
+	
+	/**
+	 * @return write-behind statistics, such as queue depth, flush latency and rows per batch.
+	 */
+	public final synchronized List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("Item updates: interval=" + Config.ITEM_UPDATE_INTERVAL + "ms queued=" + getQueueSize() + " flushes=" + _flushes + " failures=" + _failures);
+		list.add("Item flush rows: last=" + _lastRows + " max=" + _maxRows + " avg=" + String.format("%1.2f", (_flushes == 0) ? 0. : (double) _rows / _flushes) + " time: last=" + String.format("%1.2f", _lastTime / 1000000.) + "ms max=" + String.format("%1.2f", _maxTime / 1000000.) + "ms avg=" + String.format("%1.2f", (_flushes == 0) ? 0. : _totalTime / 1000000. / _flushes) + "ms");
+		return list;
+	}
+	
+	public static final ItemUpdateTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final ItemUpdateTaskManager INSTANCE = new ItemUpdateTaskManager();
+	}
+}
\ No newline at end of file
@@ -3,9 +3,7 @@ package net.sf.l2j.gameserver.taskmanager;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.l2j.commons.logging.CLogger;
 import net.sf.l2j.commons.pool.ConnectionPool;
@@ -31,7 +29,7 @@ public final class ItemsOnGroundTaskManager implements Runnable
 	private static final String DELETE_ITEMS = "DELETE FROM items_on_ground";
 	private static final String SAVE_ITEMS = "INSERT INTO items_on_ground(object_id,item_id,count,enchant_level,x,y,z,time) VALUES(?,?,?,?,?,?,?,?)";
 	
-	private final Map<ItemInstance, Long> _items = new ConcurrentHashMap<>();
+	private final ExpiringSet<ItemInstance> _items = new ExpiringSet<>();
 	
 	public ItemsOnGroundTaskManager()
 	{
@@ -93,23 +91,8 @@ public final class ItemsOnGroundTaskManager implements Runnable
 		if (_items.isEmpty())
 			return;
 		
-		// Get current time.
-		final long time = System.currentTimeMillis();
-		
-		// Loop all items.
-		for (Map.Entry<ItemInstance, Long> entry : _items.entrySet())
-		{
-			// Get and validate destroy time.
-			final long destroyTime = entry.getValue();
-			
-			// Item can't be destroyed or time hasn't passed yet, skip.
-			if (destroyTime == 0 || time < destroyTime)
-				continue;
-			
-			// Destroy item and remove from task.
-			final ItemInstance item = entry.getKey();
-			item.decayMe();
-		}
+		// Destroy expired items. Items which can't be destroyed never expire.
+		_items.expire(System.currentTimeMillis(), ItemInstance::decayMe);
 	}
 	
 	/**
@@ -178,7 +161,7 @@ public final class ItemsOnGroundTaskManager implements Runnable
 			// Get current time.
 			final long time = System.currentTimeMillis();
 			
-			for (Entry<ItemInstance, Long> entry : _items.entrySet())
+			for (Entry<ItemInstance, Long> entry : _items.getTimes().entrySet())
 			{
 				// Get item and destroy time interval.
 				final ItemInstance item = entry.getKey();
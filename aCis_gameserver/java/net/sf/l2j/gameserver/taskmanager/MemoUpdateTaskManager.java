@@ -0,0 +1,150 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ConnectionPool;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.Config;
+import net.sf.l2j.gameserver.model.memo.BatchedMemoSet;
+
+/**
+ * Write-behind persistence of {@link BatchedMemoSet}s, such as quest variables and player memos.<br>
+ * <br>
+ * Modified MemoSets are queued once, and their pending variables are stored using JDBC batches every {@link Config#MEMO_UPDATE_INTERVAL} ms, on {@link net.sf.l2j.gameserver.model.actor.Player} store and on server shutdown.
+ */
+public final class MemoUpdateTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(MemoUpdateTaskManager.class.getName());
+	
+	private final Queue<BatchedMemoSet> _memos = new ConcurrentLinkedQueue<>();
+	
+	// statistics
+	private long _flushes;
+	private long _rows;
+	private long _failures;
+	private long _maxRows;
+	private long _lastRows;
+	private long _lastTime;
+	private long _maxTime;
+	private long _totalTime;
+	
+	protected MemoUpdateTaskManager()
+	{
+		// Run task at the configured interval.
+		if (Config.MEMO_UPDATE_INTERVAL > 0)
+			ThreadPool.scheduleAtFixedRate(this, Config.MEMO_UPDATE_INTERVAL, Config.MEMO_UPDATE_INTERVAL);
+	}
+	
+	@Override
+	public final void run()
+	{
+		flush();
+	}
+	
+	/**
+	 * Queue a {@link BatchedMemoSet} to be stored on next flush. Queuing an already queued MemoSet has no effect.
+	 * @param memos : The BatchedMemoSet to store.
+	 */
+	public final void add(BatchedMemoSet memos)
+	{
+		if (memos.setQueued(true))
+			_memos.add(memos);
+	}
+	
+	/**
+	 * @return the amount of queued {@link BatchedMemoSet}s.
+	 */
+	public final int getQueueSize()
+	{
+		return _memos.size();
+	}
+	
+	/**
+	 * Store pending variables of all queued {@link BatchedMemoSet}s, using a single {@link Connection}.
+	 */
+	public final synchronized void flush()
+	{
+		// Queue is empty, skip.
+		if (_memos.isEmpty())
+			return;
+		
+		final long start = System.nanoTime();
+		
+		// MemoSets failing to store are queued again once the flush is over, to avoid looping over them.
+		final List<BatchedMemoSet> failed = new ArrayList<>();
+		
+		int rows = 0;
+		
+		try (Connection con = ConnectionPool.getConnection())
+		{
+			BatchedMemoSet memos;
+			while ((memos = _memos.poll()) != null)
+			{
+				// Release the flag first ; variables modified during the store queue the MemoSet again.
+				memos.setQueued(false);
+				
+				try
+				{
+					rows += memos.store(con);
+				}
+				catch (Exception e)
+				{
+					LOGGER.error("Couldn't store {} memos as a batch.", e, memos.getClass().getSimpleName());
+					
+					failed.add(memos);
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			LOGGER.error("Couldn't store queued memos.", e);
+		}
+		
+		if (!failed.isEmpty())
+		{
+			_failures += failed.size();
+			
+			for (BatchedMemoSet memos : failed)
+				add(memos);
+		}
+		
+		final long time = System.nanoTime() - start;
+		
+		_flushes++;
+		_rows += rows;
+		_lastRows = rows;
+		_lastTime = time;
+		_totalTime += time;
+		if (rows > _maxRows)
+			_maxRows = rows;
+		if (time > _maxTime)
+			_maxTime = time;
+	}
+	
+	/**
+	 * @return write-behind statistics, such as queue depth, flush latency and rows per batch.
+	 */
+	public final synchronized List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("Memo updates: interval=" + Config.MEMO_UPDATE_INTERVAL + "ms queued=" + getQueueSize() + " flushes=" + _flushes + " failures=" + _failures);
+		list.add("Memo flush rows: last=" + _lastRows + " max=" + _maxRows + " avg=" + String.format("%1.2f", (_flushes == 0) ? 0. : (double) _rows / _flushes) + " time: last=" + String.format("%1.2f", _lastTime / 1000000.) + "ms max=" + String.format("%1.2f", _maxTime / 1000000.) + "ms avg=" + String.format("%1.2f", (_flushes == 0) ? 0. : _totalTime / 1000000. / _flushes) + "ms");
+		return list;
+	}
+	
+	public static final MemoUpdateTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final MemoUpdateTaskManager INSTANCE = new MemoUpdateTaskManager();
+	}
+}
\ No newline at end of file
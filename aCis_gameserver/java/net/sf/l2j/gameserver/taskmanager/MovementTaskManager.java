@@ -0,0 +1,162 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.gameserver.model.actor.Creature;
+import net.sf.l2j.gameserver.model.actor.move.CreatureMove;
+
+/**
+ * Updates position of all moving {@link Creature}s, and notifies their AI upon arrival.<br>
+ * <br>
+ * Movements are spread over a fixed amount of shards (one per available processor), using the {@link Creature} objectId. Each shard is processed by a single fixed-rate task, running every {@link #MOVE_PERIOD} ms.
+ */
+public final class MovementTaskManager
+{
+	private static final CLogger LOGGER = new CLogger(MovementTaskManager.class.getName());
+	
+	private static final int MOVE_PERIOD = 100;
+	
+	private final Shard[] _shards;
+	
+	protected MovementTaskManager()
+	{
+		_shards = new Shard[Runtime.getRuntime().availableProcessors()];
+		for (int i = 0; i < _shards.length; i++)
+		{
+			_shards[i] = new Shard();
+			
+			// Run each shard every 100ms.
+			ThreadPool.scheduleAtFixedRate(_shards[i], MOVE_PERIOD, MOVE_PERIOD);
+		}
+	}
+	
+	/**
+	 * Add a {@link CreatureMove} to the {@link MovementTaskManager}.
+	 * @param move : The CreatureMove to add.
+	 * @return true if the CreatureMove wasn't already registered.
+	 */
+	public final boolean add(CreatureMove<?> move)
+	{
+		return getShard(move)._moves.add(move);
+	}
+	
+	/**
+	 * Remove a {@link CreatureMove} from the {@link MovementTaskManager}.
+	 * @param move : The CreatureMove to remove.
+	 * @return true if the CreatureMove was registered.
+	 */
+	public final boolean remove(CreatureMove<?> move)
+	{
+		return getShard(move)._moves.remove(move);
+	}
+	
+	/**
+	 * @param move : The CreatureMove to test.
+	 * @return true if the CreatureMove is registered, which means its {@link Creature} is moving.
+	 */
+	public final boolean contains(CreatureMove<?> move)
+	{
+		return getShard(move)._moves.contains(move);
+	}
+	
+	/**
+	 * @return the amount of currently moving {@link Creature}s.
+	 */
+	public final int getMoversCount()
+	{
+		int count = 0;
+		for (Shard shard : _shards)
+			count += shard._moves.size();
+		
+		return count;
+	}
+	
+	/**
+	 * @return movement statistics, such as movers count and tick durations of each shard.
+	 */
+	public final List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("Movement: shards=" + _shards.length + " movers=" + getMoversCount());
+		
+		for (int i = 0; i < _shards.length; i++)
+		{
+			final Shard shard = _shards[i];
+			final long ticks = shard._ticks;
+			
+			list.add("Shard #" + i + ": movers=" + shard._moves.size() + " ticks=" + ticks + " last=" + String.format("%1.2f", shard._lastTime / 1000000.) + "ms max=" + String.format("%1.2f", shard._maxTime / 1000000.) + "ms avg=" + String.format("%1.2f", (ticks == 0) ? 0. : shard._totalTime / 1000000. / ticks) + "ms");
+		}
+		return list;
+	}
+	
+	private Shard getShard(CreatureMove<?> move)
+	{
+		return _shards[move.getActor().getObjectId() % _shards.length];
+	}
+	
+	/**
+	 * A group of {@link CreatureMove}s processed together. A fixed-rate task never overlaps itself, therefore statistics are written by a single thread.
+	 */
+	private static final class Shard implements Runnable
+	{
+		private final Set<CreatureMove<?>> _moves = ConcurrentHashMap.newKeySet();
+		
+		private volatile long _ticks;
+		private volatile long _lastTime;
+		private volatile long _maxTime;
+		private volatile long _totalTime;
+		
+		protected Shard()
+		{
+		}
+		
+		@Override
+		public final void run()
+		{
+			// List is empty, skip.
+			if (_moves.isEmpty())
+				return;
+			
+			final long start = System.nanoTime();
+			
+			// Loop all movements.
+			for (CreatureMove<?> move : _moves)
+			{
+				try
+				{
+					// Update position ; if the movement is over and no route point is left, the Creature arrived.
+					if (move.updatePosition(false) && !move.moveToNextRoutePoint())
+						move.onMoveFinished();
+				}
+				catch (Exception e)
+				{
+					LOGGER.error("Couldn't update movement of {}.", e, move.getActor());
+				}
+			}
+			
+			final long time = System.nanoTime() - start;
+			
+			_ticks++;
+			_lastTime = time;
+			_totalTime += time;
+			if (time > _maxTime)
+				_maxTime = time;
+		}
+	}
+	
+	public static final MovementTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final MovementTaskManager INSTANCE = new MovementTaskManager();
+	}
+}
\ No newline at end of file
@@ -1,8 +1,5 @@
 package net.sf.l2j.gameserver.taskmanager;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import net.sf.l2j.commons.pool.ThreadPool;
 
 import net.sf.l2j.gameserver.model.actor.Player;
@@ -12,7 +9,13 @@ import net.sf.l2j.gameserver.model.actor.Player;
  */
 public final class PvpFlagTaskManager implements Runnable
 {
-	private final Map<Player, Long> _players = new ConcurrentHashMap<>();
+	private static final long BLINK_PERIOD = 5000; // 5 seconds
+	
+	// Players to clear, by PvP flag end time.
+	private final ExpiringSet<Player> _players = new ExpiringSet<>();
+	
+	// Players to update to blinking PvP flag, by blinking start time.
+	private final ExpiringSet<Player> _blinks = new ExpiringSet<>();
 	
 	protected PvpFlagTaskManager()
 	{
@@ -30,23 +33,15 @@ public final class PvpFlagTaskManager implements Runnable
 		// Get current time.
 		final long currentTime = System.currentTimeMillis();
 		
-		// Loop all players.
-		for (Map.Entry<Player, Long> entry : _players.entrySet())
+		// Time is running out, clear PvP flag.
+		_players.expire(currentTime, player ->
 		{
-			// Get time left and check.
-			final Player player = entry.getKey();
-			final long timeLeft = entry.getValue();
-			
-			// Time is running out, clear PvP flag and remove from list.
-			if (currentTime > timeLeft)
-				remove(player, true);
-			// Time almost runned out, update to blinking PvP flag.
-			else if (currentTime > (timeLeft - 5000))
-				player.updatePvPFlag(2);
-			// Time didn't run out, keep PvP flag.
-			else
-				player.updatePvPFlag(1);
-		}
+			_blinks.remove(player);
+			player.updatePvPFlag(0);
+		});
+		
+		// Time almost runned out, update to blinking PvP flag.
+		_blinks.expire(currentTime, player -> player.updatePvPFlag(2));
 	}
 	
 	/**
@@ -56,7 +51,14 @@ public final class PvpFlagTaskManager implements Runnable
 	 */
 	public final void add(Player player, long time)
 	{
-		_players.put(player, System.currentTimeMillis() + time);
+		final long endTime = System.currentTimeMillis() + time;
+		
+		_blinks.put(player, endTime - BLINK_PERIOD);
+		_players.put(player, endTime);
+		
+		// Time didn't run out, keep PvP flag.
+		if (player.getPvpFlag() == 2)
+			player.updatePvPFlag(1);
 	}
 	
 	/**
@@ -66,6 +68,7 @@ public final class PvpFlagTaskManager implements Runnable
 	 */
 	public final void remove(Player player, boolean resetFlag)
 	{
+		_blinks.remove(player);
 		_players.remove(player);
 		
 		if (resetFlag)
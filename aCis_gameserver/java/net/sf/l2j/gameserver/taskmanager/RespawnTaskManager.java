@@ -0,0 +1,115 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.gameserver.model.spawn.Spawn;
+
+/**
+ * Respawns {@link Spawn}s once their respawn time is reached, instead of scheduling one task per dead {@link net.sf.l2j.gameserver.model.actor.Npc}.<br>
+ * <br>
+ * Spawns are grouped by due second and respawned by batches. A batch is limited to {@link #BATCH_LIMIT} respawns ; remaining respawns are delayed to following ticks, spreading large bursts.
+ */
+public final class RespawnTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(RespawnTaskManager.class.getName());
+	
+	public static final int BATCH_LIMIT = 500;
+	
+	private final ExpiringSet<Spawn> _spawns = new ExpiringSet<>();
+	
+	// Due spawns, delayed by the batch limit. Only accessed by the task.
+	private final Deque<Spawn> _backlog = new ArrayDeque<>();
+	
+	// statistics
+	private long _ticks;
+	private long _respawns;
+	private long _lastBatch;
+	private long _maxBatch;
+	private long _lastTime;
+	private long _maxTime;
+	private long _totalTime;
+	
+	protected RespawnTaskManager()
+	{
+		// Run task each second.
+		ThreadPool.scheduleAtFixedRate(this, 1000, 1000);
+	}
+	
+	@Override
+	public final synchronized void run()
+	{
+		// Lists are empty, skip.
+		if (_spawns.isEmpty() && _backlog.isEmpty())
+			return;
+		
+		final long start = System.nanoTime();
+		
+		// Retrieve due spawns, after the ones delayed from previous ticks.
+		_spawns.expire(System.currentTimeMillis(), _backlog::add);
+		
+		int batch = 0;
+		
+		Spawn spawn;
+		while (batch < BATCH_LIMIT && (spawn = _backlog.poll()) != null)
+		{
+			try
+			{
+				spawn.run();
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Couldn't respawn {}.", e, spawn);
+			}
+			batch++;
+		}
+		
+		final long time = System.nanoTime() - start;
+		
+		_ticks++;
+		_respawns += batch;
+		_lastBatch = batch;
+		_lastTime = time;
+		_totalTime += time;
+		if (batch > _maxBatch)
+			_maxBatch = batch;
+		if (time > _maxTime)
+			_maxTime = time;
+	}
+	
+	/**
+	 * Schedule the respawn of a {@link Spawn}. Scheduling an already scheduled Spawn reschedules it.
+	 * @param spawn : The Spawn to respawn.
+	 * @param delay : The delay, in milliseconds.
+	 */
+	public final void add(Spawn spawn, long delay)
+	{
+		_spawns.put(spawn, System.currentTimeMillis() + delay);
+	}
+	
+	/**
+	 * @return respawn statistics, such as pending respawns and batch sizes.
+	 */
+	public final synchronized List<String> getStats()
+	{
+		final List<String> list = new ArrayList<>();
+		list.add("Respawns: pending=" + _spawns.size() + " delayed=" + _backlog.size() + " respawned=" + _respawns + " limit=" + BATCH_LIMIT);
+		list.add("Respawn batch: last=" + _lastBatch + " max=" + _maxBatch + " avg=" + String.format("%1.2f", (_ticks == 0) ? 0. : (double) _respawns / _ticks) + " time: last=" + String.format("%1.2f", _lastTime / 1000000.) + "ms max=" + String.format("%1.2f", _maxTime / 1000000.) + "ms avg=" + String.format("%1.2f", (_ticks == 0) ? 0. : _totalTime / 1000000. / _ticks) + "ms");
+		return list;
+	}
+	
+	public static final RespawnTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final RespawnTaskManager INSTANCE = new RespawnTaskManager();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package net.sf.l2j.gameserver.taskmanager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.sf.l2j.commons.logging.CLogger;
+import net.sf.l2j.commons.pool.ThreadPool;
+
+import net.sf.l2j.gameserver.model.actor.Player;
+
+/**
+ * Coalesces {@link Player#broadcastUserInfo()} requests.<br>
+ * <br>
+ * A {@link Player} requesting a broadcast is flagged as dirty, and all requests made within the same {@link #WINDOW} ms window are sent as a single UserInfo/CharInfo broadcast. Paths which can't wait (teleport, spawn, packets ordered after the broadcast) use {@link Player#broadcastUserInfoNow()}.
+ */
+public final class UserInfoTaskManager implements Runnable
+{
+	private static final CLogger LOGGER = new CLogger(UserInfoTaskManager.class.getName());
+	
+	public static final int WINDOW = 100;
+	
+	private final Set<Player> _players = ConcurrentHashMap.newKeySet();
+	
+	// statistics
+	private final LongAdder _requests = new LongAdder();
+	private long _broadcasts;
+	private long _lastBroadcasts;
+	private long _maxBroadcasts;
+	
+	protected UserInfoTaskManager()
+	{
+		// Run task each window.
+		ThreadPool.scheduleAtFixedRate(this, WINDOW, WINDOW);
+	}
+	
+	@Override
+	public final void run()
+	{
+		// List is empty, skip.
+		if (_players.isEmpty())
+			return;
+		
+		int broadcasts = 0;
+		
+		// Release the flag first ; requests made during the broadcast flag the Player again.
+		final Iterator<Player> iterator = _players.iterator();
+		while (iterator.hasNext())
+		{
+			final Player player = iterator.next();
+			iterator.remove();
+			
+			try
+			{
+				player.broadcastUserInfoNow();
+				broadcasts++;
+			}
+			catch (Exception e)
+			{
+				LOGGER.error("Couldn't broadcast {} user info.", e, player.getName());
+			}
+		}
+		
+		synchronized (this)
+		{
+			_broadcasts += broadcasts;
+			_lastBroadcasts = broadcasts;
+			if (broadcasts > _maxBroadcasts)
+				_maxBroadcasts = broadcasts;
+		}
+	}
+	
+	/**
+	 * Flag a {@link Player} as dirty, its informations being broadcasted on next run. Adding an already flagged Player has no effect.
+	 * @param player : The Player to broadcast.
+	 */
+	public final void add(Player player)
+	{
+		_players.add(player);
+		
+		_requests.increment();
+	}
+	
+	/**
+	 * Remove a {@link Player} pending broadcast, if any.
+	 * @param player : The Player to remove.
+	 */
+	public final void remove(Player player)
+	{
+		_players.remove(player);
+	}
+	
+	/**
+	 * @return coalescer statistics, such as broadcast requests, effective broadcasts and pending players.
+	 */
+	public final synchronized List<String> getStats()
+	{
+		final long requests = _requests.sum();
+		
+		final List<String> list = new ArrayList<>();
+		list.add("User info: window=" + WINDOW + "ms pending=" + _players.size() + " requests=" + requests + " broadcasts=" + _broadcasts + " saved=" + String.format("%1.2f", (requests == 0) ? 0. : 100. * (requests - _broadcasts) / requests) + "%");
+		list.add("User info broadcasts per window: last=" + _lastBroadcasts + " max=" + _maxBroadcasts);
+		return list;
+	}
+	
+	public static final UserInfoTaskManager getInstance()
+	{
+		return SingletonHolder.INSTANCE;
+	}
+	
+	private static class SingletonHolder
+	{
+		protected static final UserInfoTaskManager INSTANCE = new UserInfoTaskManager();
+	}
+}
\ No newline at end of file